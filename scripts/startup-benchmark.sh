@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Mide el tiempo hasta la primera peticion atendida y la memoria residente (RSS)
+# del microservicio, sin optimizar y con AOT + CDS.
+#
+# Requisitos: haber ejecutado "mvn clean package -Paot -DskipTests" y tener
+# definidas DB_HOST, DB_NAME, DB_USER y DB_PASSWORD. EUREKA_ENABLED=false solo
+# se aplica a la ejecucion base: con AOT el cliente de Eureka queda fijado al
+# compilar, asi que si Eureka no esta disponible los errores de conexion de las
+# ejecuciones AOT son esperados.
+#
+# Uso: scripts/startup-benchmark.sh [repeticiones]
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${SERVER_PORT:-8086}"
+URL="http://localhost:${PORT}/v3/api-docs"
+WORK_DIR="target/startup-benchmark"
+JAR="$(ls target/notifications-service-*.jar | grep -v original | head -n 1)"
+COMMON_OPTS=("-Dserver.port=${PORT}")
+
+rm -rf "${WORK_DIR}"
+mkdir -p "${WORK_DIR}"
+java -Djarmode=tools -jar "${JAR}" extract --destination "${WORK_DIR}/application"
+
+echo "Generando archivo CDS con una ejecucion de entrenamiento..."
+java -XX:ArchiveClassesAtExit="${WORK_DIR}/application.jsa" -Dspring.context.exit=onRefresh \
+    -Dspring.aot.enabled=true -Dspring.cloud.refresh.enabled=false "${COMMON_OPTS[@]}" \
+    -jar "${WORK_DIR}/application/app.jar" > "${WORK_DIR}/training.log" 2>&1
+
+# Arranca la aplicacion, espera la primera respuesta y muestra "ms_primera_peticion rss_kb"
+measure() {
+    local start end pid rss
+    start=$(date +%s%N)
+    java "$@" "${COMMON_OPTS[@]}" -jar "${WORK_DIR}/application/app.jar" > "${WORK_DIR}/run.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "${URL}"; do
+        if ! kill -0 "${pid}" 2>/dev/null; then
+            echo "La aplicacion termino antes de responder, ver ${WORK_DIR}/run.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    end=$(date +%s%N)
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    echo "$(( (end - start) / 1000000 )) ${rss}"
+}
+
+report() {
+    local name="$1"
+    shift
+    local total_ms=0 total_rss=0 result ms rss
+    for ((i = 1; i <= RUNS; i++)); do
+        result=$(measure "$@")
+        read -r ms rss <<< "${result}"
+        total_ms=$((total_ms + ms))
+        total_rss=$((total_rss + rss))
+    done
+    printf "%-12s primera peticion: %6d ms   RSS: %7d KB\n" "${name}" $((total_ms / RUNS)) $((total_rss / RUNS))
+}
+
+report "base" "-Deureka.client.enabled=${EUREKA_ENABLED:-true}"
+report "aot+cds" "-XX:SharedArchiveFile=${WORK_DIR}/application.jsa" "-Dspring.aot.enabled=true" "-Dspring.cloud.refresh.enabled=false"
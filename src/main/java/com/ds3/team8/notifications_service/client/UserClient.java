@@ -3,6 +3,7 @@ package com.ds3.team8.notifications_service.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 import com.ds3.team8.notifications_service.client.dtos.UserResponse;
 import com.ds3.team8.notifications_service.config.FeignClientInterceptor;
@@ -12,4 +13,10 @@ public interface UserClient {
 
     @GetMapping("/api/v1/users/{id}")
     UserResponse getUserById(@PathVariable("id") Long id);
+
+    // Para hilos sin petición HTTP (envíos masivos): las cabeceras del usuario se indican explícitamente
+    @GetMapping("/api/v1/users/{id}")
+    UserResponse getUserById(@PathVariable("id") Long id,
+                             @RequestHeader(value = "X-Authenticated-User-Id", required = false) String userId,
+                             @RequestHeader(value = "X-Authenticated-User-Role", required = false) String userRole);
 }
@@ -0,0 +1,224 @@
+package com.ds3.team8.notifications_service.coalescing;
+
+import com.ds3.team8.notifications_service.entities.Notification;
+import com.ds3.team8.notifications_service.repositories.INotificationRepository;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class NotificationCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationCoalescer.class);
+
+    private final INotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final long windowMs;
+    private final int maxKeys;
+
+    // Ventanas abiertas por (cliente, pedido)
+    private final Map<CoalescingKey, Slot> slots = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    public NotificationCoalescer(INotificationRepository notificationRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${notifications.coalescing.enabled:false}") boolean enabled,
+                                 @Value("${notifications.coalescing.window-ms:5000}") long windowMs,
+                                 @Value("${notifications.coalescing.max-keys:10000}") int maxKeys) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // La escritura de una ventana no depende de la transacción de la petición que la provoque
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.maxKeys = maxKeys;
+        if (enabled) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "notification-coalescer"));
+            long period = Math.max(windowMs / 2, 100);
+            flusher.scheduleWithFixedDelay(this::flushExpired, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    // Guarda la notificación o la agrupa con la de la ventana abierta para el mismo cliente y pedido
+    public Notification save(Notification notification) {
+        if (!enabled || notification.getOrderId() == null) {
+            return notificationRepository.save(notification);
+        }
+
+        CoalescingKey key = new CoalescingKey(notification.getCustomerId(), notification.getOrderId());
+        long now = System.currentTimeMillis();
+        // La fusión se hace dentro de compute para que la ventana no cambie mientras se agrupa
+        boolean[] merged = new boolean[1];
+        Slot slot = slots.computeIfPresent(key, (k, existing) -> {
+            merged[0] = existing.merge(notification, now);
+            return existing;
+        });
+        if (merged[0]) {
+            logger.info("Notificación agrupada con la notificación {} del pedido {}", slot.notificationId, key.orderId());
+            return slot.view(notification);
+        }
+        // Si la ventana expiró pero aún no se ha escrito, la escribe el hilo de fondo: hacerlo aquí tomaría
+        // una segunda conexión del pool dentro de la transacción de la petición. La nueva fila se inserta sin
+        // ventana, ya que putIfAbsent no reemplaza la anterior hasta que se vacíe
+
+        Notification saved = notificationRepository.save(notification);
+        // La ventana se abre cuando la fila ya está confirmada; si la transacción se revierte no se abre
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    openWindow(key, saved);
+                }
+            });
+        } else {
+            openWindow(key, saved);
+        }
+        return saved;
+    }
+
+    // Guarda un lote: las notificaciones del mismo cliente y pedido dentro del lote se reducen a la más reciente
+    public List<Notification> saveAll(List<Notification> notifications) {
+        if (!enabled) {
+            return notificationRepository.saveAll(notifications);
+        }
+        Map<CoalescingKey, Notification> latest = new LinkedHashMap<>();
+        List<Notification> saved = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            if (notification.getOrderId() == null) {
+                saved.add(notificationRepository.save(notification));
+                continue;
+            }
+            CoalescingKey key = new CoalescingKey(notification.getCustomerId(), notification.getOrderId());
+            latest.remove(key);
+            latest.put(key, notification);
+        }
+        if (latest.size() < notifications.size() - saved.size()) {
+            logger.info("{} notificaciones del lote agrupadas con otras del mismo pedido", notifications.size() - saved.size() - latest.size());
+        }
+        for (Notification notification : latest.values()) {
+            saved.add(save(notification));
+        }
+        return saved;
+    }
+
+    private void openWindow(CoalescingKey key, Notification saved) {
+        // Si se alcanza el límite de claves la notificación queda guardada sin ventana
+        if (slots.size() >= maxKeys) return;
+        // Nunca se reemplaza una ventana existente: solo el escritor la elimina tras vaciarla,
+        // así los contenidos agrupados en ella no se pierden si dos escritores abren a la vez
+        slots.putIfAbsent(key, new Slot(saved, System.currentTimeMillis() + windowMs));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) return;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Escribir las notificaciones pendientes antes de detener la aplicación
+        slots.forEach((key, slot) -> flush(key, slot));
+        logger.info("Notificaciones agrupadas pendientes escritas al detener la aplicación");
+    }
+
+    private void flushExpired() {
+        long now = System.currentTimeMillis();
+        try {
+            slots.forEach((key, slot) -> {
+                if (slot.isExpired(now)) flush(key, slot);
+            });
+        } catch (RuntimeException e) {
+            logger.error("Error al escribir notificaciones agrupadas: {}", e.getMessage(), e);
+        }
+    }
+
+    private void flush(CoalescingKey key, Slot slot) {
+        Notification pending = slot.close();
+        slots.remove(key, slot);
+        if (pending == null) return;
+
+        transactionTemplate.executeWithoutResult(status -> notificationRepository.findById(slot.notificationId).ifPresentOrElse(
+                notification -> {
+                    notification.setMessage(pending.getMessage());
+                    notification.setTemplateCode(pending.getTemplateCode());
+                    notification.setTemplateParams(pending.getTemplateParams());
+                    // La fila conserva el último evento agrupado para descartar su reentrega
+                    if (pending.getEventId() != null) notification.setEventId(pending.getEventId());
+                    notification.setIsRead(false);
+                    notificationRepository.save(notification);
+                    logger.info("Notificación {} actualizada con el último estado del pedido {}", notification.getId(), key.orderId());
+                },
+                () -> logger.warn("Notificación {} no encontrada al escribir la agrupación", slot.notificationId)
+        ));
+    }
+
+    private record CoalescingKey(Long customerId, Long orderId) {
+    }
+
+    // Ventana de agrupación de una notificación ya guardada
+    private static final class Slot {
+        private final Long notificationId;
+        private final Notification base;
+        private final long windowEnd;
+        private Notification pending;
+        private boolean closed;
+
+        private Slot(Notification saved, long windowEnd) {
+            this.notificationId = saved.getId();
+            this.base = saved;
+            this.windowEnd = windowEnd;
+        }
+
+        synchronized boolean merge(Notification notification, long now) {
+            if (closed || now >= windowEnd) return false;
+            pending = notification;
+            return true;
+        }
+
+        // Cierra la ventana y entrega el contenido pendiente una sola vez
+        synchronized Notification close() {
+            closed = true;
+            Notification result = pending;
+            pending = null;
+            return result;
+        }
+
+        boolean isExpired(long now) {
+            return now >= windowEnd;
+        }
+
+        // Vista de la notificación agrupada con el contenido más reciente, aún sin escribir
+        Notification view(Notification latest) {
+            Notification view = new Notification(base.getCustomerId(), base.getOrderId(), latest.getMessage());
+            view.setId(notificationId);
+            view.setTemplateCode(latest.getTemplateCode());
+            view.setTemplateParams(latest.getTemplateParams());
+            view.setCreatedAt(base.getCreatedAt());
+            return view;
+        }
+    }
+}
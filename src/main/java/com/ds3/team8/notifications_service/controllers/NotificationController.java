@@ -1,7 +1,15 @@
 package com.ds3.team8.notifications_service.controllers;
 
+import com.ds3.team8.notifications_service.dtos.BroadcastRequest;
+import com.ds3.team8.notifications_service.dtos.BroadcastResponse;
+import com.ds3.team8.notifications_service.dtos.CacheStatisticsResponse;
+import com.ds3.team8.notifications_service.dtos.NotificationBatchResponse;
 import com.ds3.team8.notifications_service.dtos.NotificationRequest;
 import com.ds3.team8.notifications_service.dtos.NotificationResponse;
+import com.ds3.team8.notifications_service.events.IOrderEventTransport;
+import com.ds3.team8.notifications_service.events.OrderStatusChangedEvent;
+import com.ds3.team8.notifications_service.services.IBroadcastService;
+import com.ds3.team8.notifications_service.services.ICacheStatisticsService;
 import com.ds3.team8.notifications_service.services.INotificationService;
 
 import io.swagger.v3.oas.annotations.Hidden;
@@ -25,9 +33,15 @@ import java.util.List;
 public class NotificationController {
 
     private final INotificationService notificationService;
+    private final IBroadcastService broadcastService;
+    private final IOrderEventTransport orderEventTransport;
+    private final ICacheStatisticsService cacheStatisticsService;
 
-    public NotificationController(INotificationService notificationService) {
+    public NotificationController(INotificationService notificationService, IBroadcastService broadcastService, IOrderEventTransport orderEventTransport, ICacheStatisticsService cacheStatisticsService) {
         this.notificationService = notificationService;
+        this.broadcastService = broadcastService;
+        this.orderEventTransport = orderEventTransport;
+        this.cacheStatisticsService = cacheStatisticsService;
     }
 
     // Obtener todas las notificaciones
@@ -50,6 +64,40 @@ public class NotificationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedNotification);
     }
 
+    // Publicar un evento de cambio de estado de un pedido (procesamiento asíncrono)
+    @Hidden
+    @PostMapping("/events/order-status")
+    public ResponseEntity<Void> publishOrderStatusEvent(
+            @Valid @RequestBody OrderStatusChangedEvent event
+    ) {
+        orderEventTransport.publish(event);
+        return ResponseEntity.accepted().build();
+    }
+
+    // Enviar una notificación a varios clientes
+    @Operation(summary = "Enviar una notificación masiva", description = "Crear la misma notificación para una lista de clientes. El envío se procesa en segundo plano.", security = { @SecurityRequirement(name = "Bearer Authentication") })
+    @PostMapping("/broadcast")
+    public ResponseEntity<BroadcastResponse> broadcastNotification(
+            @Valid @RequestBody BroadcastRequest broadcastRequest,
+            @RequestHeader(value = "X-Authenticated-User-Id", required = false) String userIdHeader,
+            @RequestHeader("X-Authenticated-User-Role") String roleHeader
+    ) {
+        SecurityUtil.validateRole(roleHeader, Role.ADMIN);
+        BroadcastResponse broadcast = broadcastService.start(broadcastRequest, userIdHeader, roleHeader);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(broadcast);
+    }
+
+    // Consultar el progreso de un envío masivo
+    @Operation(summary = "Obtener el progreso de un envío masivo", description = "Obtener el estado de un envío masivo por su ID.", security = { @SecurityRequirement(name = "Bearer Authentication") })
+    @GetMapping("/broadcast/{jobId}")
+    public ResponseEntity<BroadcastResponse> getBroadcastStatus(
+            @PathVariable String jobId,
+            @RequestHeader("X-Authenticated-User-Role") String roleHeader
+    ) {
+        SecurityUtil.validateRole(roleHeader, Role.ADMIN);
+        return ResponseEntity.ok(broadcastService.getStatus(jobId));
+    }
+
     // Buscar notificaciones con paginación
     // Ejemplo URL /api/v1/notifications/pageable?page=0&size=8
     @Operation(summary = "Obtener las notificaciones con paginación", description = "Obtener las notificaciones con paginación del sistema.", security = { @SecurityRequirement(name = "Bearer Authentication") })
@@ -62,6 +110,25 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.findAllPageable(pageable));
     }
 
+    // Estadísticas de la caché de notificaciones
+    @Operation(summary = "Obtener estadísticas de la caché", description = "Obtener aciertos, fallos y tamaño de la caché de segundo nivel de notificaciones.", security = { @SecurityRequirement(name = "Bearer Authentication") })
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatisticsResponse> getCacheStatistics(
+        @RequestHeader("X-Authenticated-User-Role") String roleHeader
+    ) {
+        SecurityUtil.validateRole(roleHeader, Role.ADMIN);
+        return ResponseEntity.ok(cacheStatisticsService.getNotificationCacheStatistics());
+    }
+
+    // Buscar varias notificaciones por sus IDs
+    // Ejemplo URL /api/v1/notifications/batch?ids=1,2,3
+    @Operation(summary = "Obtener varias notificaciones por ID", description = "Obtener varias notificaciones con una sola petición, en el orden indicado. Los IDs que no existen se devuelven en 'missingIds'.", security = { @SecurityRequirement(name = "Bearer Authentication") })
+    @GetMapping("/batch")
+    public ResponseEntity<NotificationBatchResponse> getNotificationsByIds(@RequestParam List<Long> ids) {
+        NotificationBatchResponse notifications = notificationService.findAllByIds(ids);
+        return ResponseEntity.ok(notifications);
+    }
+
     // Buscar notificaciones por ID
     @Operation(summary = "Obtener una notificación por ID", description = "Obtener una notificación por su ID.", security = { @SecurityRequirement(name = "Bearer Authentication") })
     @GetMapping("/{id}")
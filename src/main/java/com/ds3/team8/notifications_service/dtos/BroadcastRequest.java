@@ -0,0 +1,30 @@
+package com.ds3.team8.notifications_service.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BroadcastRequest {
+    @Size(max = 500, message = "El campo 'message' no puede exceder los 500 caracteres")
+    private String message;
+
+    @Size(max = 50, message = "El campo 'templateCode' no puede exceder los 50 caracteres")
+    private String templateCode;
+
+    @Size(max = 10, message = "El campo 'templateParams' no puede tener más de 10 elementos")
+    private List<@Size(max = 100, message = "Cada parámetro de la plantilla no puede exceder los 100 caracteres") String> templateParams;
+
+    @NotEmpty(message = "El campo 'customerIds' es obligatorio")
+    private List<Long> customerIds; // Destinatarios de la notificación
+
+    private Long orderId; // Pedido asociado (opcional)
+}
@@ -0,0 +1,24 @@
+package com.ds3.team8.notifications_service.dtos;
+
+import com.ds3.team8.notifications_service.dtos.enums.BroadcastStatus;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BroadcastResponse {
+    private String jobId;
+    private BroadcastStatus status;
+    private Integer totalRecipients;
+    private Integer processedRecipients;
+    private Integer createdNotifications;
+    private Integer rejectedRecipients;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,17 @@
+package com.ds3.team8.notifications_service.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationBatchResponse {
+    private List<NotificationResponse> notifications; // Notificaciones encontradas, en el orden solicitado
+    private List<Long> missingIds; // IDs solicitados que no existen
+}
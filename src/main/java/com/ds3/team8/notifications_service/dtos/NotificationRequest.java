@@ -1,6 +1,5 @@
 package com.ds3.team8.notifications_service.dtos;
 
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -8,12 +7,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class NotificationRequest {
-    @NotBlank(message = "El campo 'message' es obligatorio")
     @Size(max = 500, message = "El campo 'message' no puede exceder los 500 caracteres")
     private String message;
 
@@ -22,4 +22,17 @@ public class NotificationRequest {
 
     @NotNull(message = "El campo 'orderId' es obligatorio")
     private Long orderId;
+
+    // Alternativa a 'message': código de plantilla y sus parámetros
+    @Size(max = 50, message = "El campo 'templateCode' no puede exceder los 50 caracteres")
+    private String templateCode;
+
+    @Size(max = 10, message = "El campo 'templateParams' no puede tener más de 10 elementos")
+    private List<@Size(max = 100, message = "Cada parámetro de la plantilla no puede exceder los 100 caracteres") String> templateParams;
+
+    public NotificationRequest(String message, Long customerId, Long orderId) {
+        this.message = message;
+        this.customerId = customerId;
+        this.orderId = orderId;
+    }
 }
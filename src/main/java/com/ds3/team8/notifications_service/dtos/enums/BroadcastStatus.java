@@ -0,0 +1,12 @@
+package com.ds3.team8.notifications_service.dtos.enums;
+
+public enum BroadcastStatus {
+    // En espera de ser procesado
+    PENDING,
+    // Procesando destinatarios
+    RUNNING,
+    // Todos los destinatarios procesados
+    COMPLETED,
+    // Detenido por un error
+    FAILED,
+}
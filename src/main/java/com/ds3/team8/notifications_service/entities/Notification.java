@@ -5,12 +5,16 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data  // Genera automáticamente getters, setters, equals, hashCode y toString
 @NoArgsConstructor  // Constructor sin argumentos
 @AllArgsConstructor // Constructor con todos los argumentos
 @Entity  // Indica que esta clase es una entidad JPA
 @Table(name = "notifications")  // Nombre de la tabla en la base de datos
+@Cacheable  // Se guarda en la caché de segundo nivel de Hibernate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "notifications")
 public class Notification {
    @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)  // Autoincremental
@@ -19,11 +23,20 @@ public class Notification {
     @Column(name = "customer_id", nullable = false)
     private Long customerId; // ID del cliente
 
-    @Column(name = "order_id", nullable = false)
-    private Long orderId; // ID del pedido
+    @Column(name = "order_id")
+    private Long orderId; // ID del pedido (null en notificaciones masivas sin pedido)
 
-    @Column(nullable = false)
-    private String message; // Mensaje de la notificación
+    @Column(length = 500)
+    private String message; // Mensaje libre de la notificación (null si se usa plantilla)
+
+    @Column(name = "template_code", length = 50)
+    private String templateCode; // Código de la plantilla del mensaje
+
+    @Column(name = "template_params", length = 255)
+    private String templateParams; // Parámetros de la plantilla separados por \u001F
+
+    @Column(name = "event_id", length = 64, unique = true)
+    private String eventId; // ID del evento de pedido que originó la notificación (para descartar duplicados)
 
     @Column(name = "is_read", nullable = false)
     private Boolean isRead = false; // Indica si la notificación ha sido leída
@@ -64,4 +77,11 @@ public class Notification {
         this.orderId = orderId;
         this.message = message;
     }
+
+    public Notification(Long customerId, Long orderId, String templateCode, String templateParams) {
+        this.customerId = customerId;
+        this.orderId = orderId;
+        this.templateCode = templateCode;
+        this.templateParams = templateParams;
+    }
 }
@@ -0,0 +1,10 @@
+package com.ds3.team8.notifications_service.events;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface IOrderEventTransport {
+    void publish(OrderStatusChangedEvent event); // Publicar un evento de cambio de estado de un pedido
+    void start(Consumer<List<OrderStatusChangedEvent>> batchHandler); // Empezar a entregar lotes de eventos al manejador
+    void stop(); // Dejar de consumir y entregar los eventos pendientes
+}
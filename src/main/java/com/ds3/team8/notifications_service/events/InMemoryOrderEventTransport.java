@@ -0,0 +1,175 @@
+package com.ds3.team8.notifications_service.events;
+
+import com.ds3.team8.notifications_service.exceptions.ServiceUnavailableException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "notifications.events.transport", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryOrderEventTransport implements IOrderEventTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryOrderEventTransport.class);
+
+    private static final long POLL_TIMEOUT_MS = 200;
+
+    private final List<BlockingQueue<OrderStatusChangedEvent>> partitions;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long publishTimeoutMs;
+    private final int deadLetterCapacity;
+
+    // Eventos que siguen fallando tras los reintentos individuales (los más recientes)
+    private final Deque<OrderStatusChangedEvent> deadLetters = new ConcurrentLinkedDeque<>();
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public InMemoryOrderEventTransport(@Value("${notifications.events.partitions:4}") int partitionCount,
+                                       @Value("${notifications.events.queue-capacity:10000}") int queueCapacity,
+                                       @Value("${notifications.events.batch-size:100}") int batchSize,
+                                       @Value("${notifications.events.max-attempts:3}") int maxAttempts,
+                                       @Value("${notifications.events.retry-backoff-ms:500}") long retryBackoffMs,
+                                       @Value("${notifications.events.publish-timeout-ms:1000}") long publishTimeoutMs,
+                                       @Value("${notifications.events.dead-letter-capacity:1000}") int deadLetterCapacity) {
+        this.partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.publishTimeoutMs = publishTimeoutMs;
+        this.deadLetterCapacity = deadLetterCapacity;
+    }
+
+    @Override
+    public void publish(OrderStatusChangedEvent event) {
+        // Los eventos de un mismo cliente van siempre a la misma partición para conservar su orden
+        Long customerId = event.getOrder() == null ? null : event.getOrder().getCustomerId();
+        int partition = customerId == null ? 0 : Math.floorMod(Long.hashCode(customerId), partitions.size());
+        boolean accepted;
+        try {
+            accepted = partitions.get(partition).offer(event, publishTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Publicación del evento interrumpida", e);
+        }
+        // Partición llena (consumo lento o desactivado): no bloquear al productor indefinidamente
+        if (!accepted) {
+            logger.warn("Partición {} llena, evento {} rechazado", partition, event.getEventId());
+            throw new ServiceUnavailableException("Cola de eventos llena, intente más tarde");
+        }
+    }
+
+    // Copia de los eventos descartados tras agotar los reintentos
+    public List<OrderStatusChangedEvent> getDeadLetters() {
+        return new ArrayList<>(deadLetters);
+    }
+
+    @Override
+    public synchronized void start(Consumer<List<OrderStatusChangedEvent>> batchHandler) {
+        if (running) return;
+        running = true;
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(partitions.size(),
+                r -> new Thread(r, "order-events-" + threadNumber.getAndIncrement()));
+        for (BlockingQueue<OrderStatusChangedEvent> queue : partitions) {
+            executor.submit(() -> consume(queue, batchHandler));
+        }
+        logger.info("Consumo de eventos de pedidos iniciado con {} particiones", partitions.size());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("El consumo de eventos de pedidos no terminó a tiempo");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        logger.info("Consumo de eventos de pedidos detenido");
+    }
+
+    private void consume(BlockingQueue<OrderStatusChangedEvent> queue, Consumer<List<OrderStatusChangedEvent>> batchHandler) {
+        List<OrderStatusChangedEvent> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                OrderStatusChangedEvent first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliver(batch, batchHandler);
+                batch.clear();
+            }
+            // Entregar lo que quede en la cola antes de terminar
+            while (queue.drainTo(batch, batchSize) > 0) {
+                deliver(batch, batchHandler);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Consumo de eventos interrumpido con {} eventos pendientes", queue.size() + batch.size());
+        }
+    }
+
+    // Entrega al menos una vez: si el lote falla se reintenta evento a evento para que un evento
+    // defectuoso no arrastre al resto; el manejador debe descartar duplicados
+    private void deliver(List<OrderStatusChangedEvent> batch, Consumer<List<OrderStatusChangedEvent>> batchHandler) throws InterruptedException {
+        try {
+            batchHandler.accept(batch);
+            return;
+        } catch (RuntimeException e) {
+            logger.warn("Error al procesar un lote de {} eventos, se reintenta evento a evento: {}", batch.size(), e.getMessage());
+        }
+        for (OrderStatusChangedEvent event : batch) {
+            deliverOne(event, batchHandler);
+        }
+    }
+
+    private void deliverOne(OrderStatusChangedEvent event, Consumer<List<OrderStatusChangedEvent>> batchHandler) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                batchHandler.accept(List.of(event));
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    park(event, e);
+                    return;
+                }
+                logger.warn("Error al procesar el evento {} (intento {}): {}", event.getEventId(), attempt, e.getMessage());
+                Thread.sleep(retryBackoffMs * attempt);
+            }
+        }
+    }
+
+    private void park(OrderStatusChangedEvent event, RuntimeException cause) {
+        logger.error("Evento {} descartado tras {} intentos: {}", event.getEventId(), maxAttempts, cause.getMessage(), cause);
+        deadLetters.addLast(event);
+        while (deadLetters.size() > deadLetterCapacity) {
+            deadLetters.pollFirst();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ds3.team8.notifications_service.events;
+
+import com.ds3.team8.notifications_service.services.INotificationService;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "notifications.events.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderEventConsumer {
+
+    private final IOrderEventTransport transport;
+    private final INotificationService notificationService;
+
+    public OrderEventConsumer(IOrderEventTransport transport, INotificationService notificationService) {
+        this.transport = transport;
+        this.notificationService = notificationService;
+    }
+
+    // Se empieza a consumir cuando la aplicación está lista para atender peticiones
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        transport.start(notificationService::saveFromOrderEvents);
+    }
+
+    @PreDestroy
+    public void stop() {
+        transport.stop();
+    }
+}
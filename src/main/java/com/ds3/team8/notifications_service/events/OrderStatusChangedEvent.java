@@ -0,0 +1,28 @@
+package com.ds3.team8.notifications_service.events;
+
+import com.ds3.team8.notifications_service.client.dtos.OrderResponse;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatusChangedEvent {
+    @NotBlank(message = "El campo 'eventId' es obligatorio")
+    @Size(max = 64, message = "El campo 'eventId' no puede exceder los 64 caracteres")
+    private String eventId; // ID del evento asignado por el productor, usado para descartar duplicados
+
+    @NotNull(message = "El campo 'order' es obligatorio")
+    private OrderResponse order; // Pedido con su nuevo estado
+
+    private LocalDateTime occurredAt;
+}
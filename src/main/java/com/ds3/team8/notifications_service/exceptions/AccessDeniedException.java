@@ -2,14 +2,14 @@ package com.ds3.team8.notifications_service.exceptions;
 
 public class AccessDeniedException extends RuntimeException {
     public AccessDeniedException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public AccessDeniedException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 
     public AccessDeniedException(Throwable cause) {
-        super(cause);
+        super(cause == null ? null : cause.toString(), cause, false, false);
     }
 }
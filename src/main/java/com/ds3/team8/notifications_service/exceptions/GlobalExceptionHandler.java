@@ -1,6 +1,7 @@
 package com.ds3.team8.notifications_service.exceptions;
 
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -60,6 +61,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
     }
 
+    // Maneja excepciones de servicio no disponible (sobrecarga)
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        // Se crea un mapa para estructurar la respuesta de error
+        Map<String, Object> response = new HashMap<>();
+        response.put("error", ex.getMessage()); // Mensaje de error específico
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value()); // Código HTTP 503
+
+        // Retorna la respuesta con el estado 503 (Service Unavailable) y el tiempo sugerido para reintentar
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     // Maneja excepciones de validación
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
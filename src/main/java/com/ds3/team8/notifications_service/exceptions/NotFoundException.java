@@ -1,15 +1,17 @@
 package com.ds3.team8.notifications_service.exceptions;
 
+// Excepciones de dominio sin traza de pila (GlobalExceptionHandler solo usa el mensaje),
+// por lo que lanzarlas en rutas frecuentes es barato y se pueden reutilizar instancias
 public class NotFoundException extends RuntimeException {
     public NotFoundException(String message){
-        super(message);
+        super(message, null, false, false);
     }
 
     public NotFoundException(String message, Throwable cause){
-        super(message, cause);
+        super(message, cause, false, false);
     }
 
     public NotFoundException(Throwable cause){
-        super(cause);
+        super(cause == null ? null : cause.toString(), cause, false, false);
     }
 }
@@ -0,0 +1,15 @@
+package com.ds3.team8.notifications_service.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message){
+        super(message, null, false, false);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause){
+        super(message, cause, false, false);
+    }
+
+    public ServiceUnavailableException(Throwable cause){
+        super(cause == null ? null : cause.toString(), cause, false, false);
+    }
+}
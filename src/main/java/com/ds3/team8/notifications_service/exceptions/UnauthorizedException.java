@@ -2,14 +2,14 @@ package com.ds3.team8.notifications_service.exceptions;
 
 public class UnauthorizedException extends RuntimeException {
     public UnauthorizedException(String message){
-        super(message);
+        super(message, null, false, false);
     }
 
     public UnauthorizedException(String message, Throwable cause){
-        super(message, cause);
+        super(message, cause, false, false);
     }
 
     public UnauthorizedException(Throwable cause){
-        super(cause);
+        super(cause == null ? null : cause.toString(), cause, false, false);
     }
 }
@@ -3,6 +3,7 @@ package com.ds3.team8.notifications_service.mappers;
 import com.ds3.team8.notifications_service.dtos.NotificationRequest;
 import com.ds3.team8.notifications_service.dtos.NotificationResponse;
 import com.ds3.team8.notifications_service.entities.Notification;
+import com.ds3.team8.notifications_service.templates.NotificationTemplateRegistry;
 
 import org.springframework.stereotype.Component;
 
@@ -11,6 +12,12 @@ import java.util.stream.Collectors;
 
 @Component
 public class NotificationMapper {
+    private final NotificationTemplateRegistry templateRegistry;
+
+    public NotificationMapper(NotificationTemplateRegistry templateRegistry) {
+        this.templateRegistry = templateRegistry;
+    }
+
     public NotificationResponse toNotificationResponse(Notification notification) {
         if (notification == null) return null;
 
@@ -18,7 +25,7 @@ public class NotificationMapper {
                 notification.getId(),
                 notification.getCustomerId(),
                 notification.getOrderId(),
-                notification.getMessage(),
+                resolveMessage(notification),
                 notification.getIsRead(),
                 notification.getCreatedAt(),
                 notification.getUpdatedAt()
@@ -28,6 +35,16 @@ public class NotificationMapper {
     public Notification toNotification(NotificationRequest request) {
         if (request == null) return null;
 
+        // Si se indica plantilla solo se guardan el código y los parámetros
+        if (request.getTemplateCode() != null) {
+            return new Notification(
+                    request.getCustomerId(),
+                    request.getOrderId(),
+                    request.getTemplateCode(),
+                    NotificationTemplateRegistry.encodeParams(request.getTemplateParams())
+            );
+        }
+
         return new Notification(
                 request.getCustomerId(),
                 request.getOrderId(),
@@ -42,4 +59,10 @@ public class NotificationMapper {
                 .map(this::toNotificationResponse)
                 .collect(Collectors.toList());
     }
+
+    // El mensaje de las notificaciones con plantilla se renderiza al construir la respuesta
+    private String resolveMessage(Notification notification) {
+        if (notification.getTemplateCode() == null) return notification.getMessage();
+        return templateRegistry.render(notification.getTemplateCode(), notification.getTemplateParams());
+    }
 }
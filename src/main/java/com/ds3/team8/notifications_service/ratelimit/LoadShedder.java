@@ -0,0 +1,62 @@
+package com.ds3.team8.notifications_service.ratelimit;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class LoadShedder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadShedder.class);
+
+    private final DataSource dataSource;
+    private final int awaitingThreshold;
+
+    private volatile HikariPoolMXBean pool;
+
+    public LoadShedder(DataSource dataSource,
+                       @Value("${notifications.load-shedding.awaiting-connections-threshold:10}") int awaitingThreshold) {
+        this.dataSource = dataSource;
+        this.awaitingThreshold = awaitingThreshold;
+    }
+
+    // Descarta peticiones cuando hay hilos esperando conexión en el pool de la base de datos.
+    // La probabilidad crece de 0 en el umbral a 1 al doble del umbral.
+    public boolean shouldShed() {
+        HikariPoolMXBean poolBean = pool();
+        if (poolBean == null) return false;
+
+        int awaiting = poolBean.getThreadsAwaitingConnection();
+        if (awaiting < awaitingThreshold) return false;
+
+        double probability = (double) (awaiting - awaitingThreshold + 1) / (awaitingThreshold + 1);
+        boolean shed = ThreadLocalRandom.current().nextDouble() < probability;
+        if (shed) {
+            logger.warn("Petición descartada por carga: {} hilos esperando conexión", awaiting);
+        }
+        return shed;
+    }
+
+    private HikariPoolMXBean pool() {
+        HikariPoolMXBean poolBean = pool;
+        if (poolBean != null) return poolBean;
+        try {
+            // El MXBean solo existe cuando el pool ya se inicializó
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                poolBean = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                pool = poolBean;
+            }
+        } catch (SQLException e) {
+            logger.warn("No se pudo obtener el pool de conexiones: {}", e.getMessage());
+        }
+        return poolBean;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ds3.team8.notifications_service.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final String API_PREFIX = "/api/v1/notifications";
+    private static final String USER_ID_HEADER = "X-Authenticated-User-Id";
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final RateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final ObjectMapper objectMapper;
+    private final boolean rateLimitEnabled;
+    private final boolean loadSheddingEnabled;
+
+    public RateLimitFilter(RateLimiter rateLimiter,
+                           LoadShedder loadShedder,
+                           ObjectMapper objectMapper,
+                           @Value("${notifications.rate-limit.enabled:true}") boolean rateLimitEnabled,
+                           @Value("${notifications.load-shedding.enabled:true}") boolean loadSheddingEnabled) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.objectMapper = objectMapper;
+        this.rateLimitEnabled = rateLimitEnabled;
+        this.loadSheddingEnabled = loadSheddingEnabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Solo se limitan los endpoints de notificaciones (no Swagger ni otros recursos)
+        return !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (loadSheddingEnabled && loadShedder.shouldShed()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Servicio sobrecargado, intente más tarde");
+            return;
+        }
+
+        if (rateLimitEnabled) {
+            String endpoint = request.getMethod() + " " + ID_SEGMENT.matcher(request.getRequestURI()).replaceAll("/{id}");
+            // Las peticiones sin usuario autenticado son llamadas entre servicios (creación de notificaciones,
+            // eventos de pedidos) y se limitan por dirección de origen con el límite interno
+            String userId = request.getHeader(USER_ID_HEADER);
+            boolean internal = userId == null || userId.isBlank();
+            String caller = internal ? "addr:" + request.getRemoteAddr() : "user:" + userId;
+            long waitNanos = rateLimiter.tryAcquire(endpoint, caller, internal);
+            if (waitNanos > 0) {
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+                logger.warn("Límite de peticiones superado en {} por {}", endpoint, caller);
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Demasiadas peticiones, intente más tarde");
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", message);
+        body.put("status", status.value());
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), body);
+    }
+}
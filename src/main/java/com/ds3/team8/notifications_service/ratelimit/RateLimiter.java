@@ -0,0 +1,133 @@
+package com.ds3.team8.notifications_service.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    // Clave compartida cuando un mapa de cubetas alcanza el número máximo de claves
+    private static final String OVERFLOW_KEY = "overflow";
+
+    // Cubetas de un llamador en un endpoint y cubetas globales de cada endpoint
+    private final Map<String, AtomicLong> callerBuckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> endpointBuckets = new ConcurrentHashMap<>();
+    // Cubeta por endpoint que comparten los llamadores nuevos cuando se alcanza el máximo de claves
+    private final Map<String, AtomicLong> overflowBuckets = new ConcurrentHashMap<>();
+
+    private final Limit userLimit;
+    private final Limit internalLimit;
+    private final Limit endpointLimit;
+    private final Limit overflowLimit;
+    private final int maxKeys;
+    private final ScheduledExecutorService sweeper;
+
+    public RateLimiter(@Value("${notifications.rate-limit.user.requests-per-second:5}") double userRate,
+                       @Value("${notifications.rate-limit.user.burst:10}") int userBurst,
+                       @Value("${notifications.rate-limit.internal.requests-per-second:500}") double internalRate,
+                       @Value("${notifications.rate-limit.internal.burst:1000}") int internalBurst,
+                       @Value("${notifications.rate-limit.endpoint.requests-per-second:200}") double endpointRate,
+                       @Value("${notifications.rate-limit.endpoint.burst:400}") int endpointBurst,
+                       @Value("${notifications.rate-limit.overflow.requests-per-second:1000}") double overflowRate,
+                       @Value("${notifications.rate-limit.overflow.burst:2000}") int overflowBurst,
+                       @Value("${notifications.rate-limit.max-keys:50000}") int maxKeys,
+                       @Value("${notifications.rate-limit.sweep-interval-ms:10000}") long sweepIntervalMs) {
+        this.userLimit = new Limit(userRate, userBurst);
+        this.internalLimit = new Limit(internalRate, internalBurst);
+        this.endpointLimit = new Limit(endpointRate, endpointBurst);
+        this.overflowLimit = new Limit(overflowRate, overflowBurst);
+        this.maxKeys = maxKeys;
+        // Las cubetas inactivas se descartan en segundo plano, nunca en el hilo de la petición
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rate-limit-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepIdle, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Devuelve 0 si la petición se acepta, o los nanosegundos que hay que esperar para reintentar.
+    // Las llamadas internas (entre servicios) tienen su propio límite, mucho mayor que el de un usuario
+    // y no consumen la cubeta global del endpoint, pensada para el tráfico de los usuarios
+    public long tryAcquire(String endpoint, String caller, boolean internal) {
+        long now = System.nanoTime();
+        Limit callerLimit = internal ? internalLimit : userLimit;
+        AtomicLong callerBucket = callerBuckets.get(endpoint + "|" + caller);
+        if (callerBucket == null) {
+            if (callerBuckets.size() >= maxKeys) {
+                // Con el máximo de claves alcanzado los llamadores nuevos comparten hasta el próximo barrido
+                // una cubeta del endpoint con un límite propio, para no limitarlos a todos como a un solo usuario
+                callerBucket = bucket(overflowBuckets, endpoint, now);
+                callerLimit = overflowLimit;
+            } else {
+                callerBucket = callerBuckets.computeIfAbsent(endpoint + "|" + caller, k -> new AtomicLong(now));
+            }
+        }
+        long wait = acquire(callerBucket, now, callerLimit);
+        if (wait > 0 || internal) return wait;
+
+        wait = acquire(bucket(endpointBuckets, endpoint, now), now, endpointLimit);
+        if (wait > 0) {
+            // La petición no se atiende: devolver el token del llamador
+            callerBucket.addAndGet(-callerLimit.intervalNanos());
+        }
+        return wait;
+    }
+
+    // Cubeta de tokens expresada como "instante teórico de llegada" (GCRA): un solo long actualizado con CAS
+    private long acquire(AtomicLong bucket, long now, Limit limit) {
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + limit.intervalNanos();
+            long excess = newTat - now - limit.burstNanos();
+            if (excess > 0) return excess;
+            if (bucket.compareAndSet(tat, newTat)) return 0;
+        }
+    }
+
+    private AtomicLong bucket(Map<String, AtomicLong> buckets, String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) return bucket;
+        if (buckets.size() >= maxKeys) key = OVERFLOW_KEY;
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    // Una cubeta cuyo instante teórico ya pasó está llena y puede descartarse sin perder información
+    void sweepIdle() {
+        long now = System.nanoTime();
+        int before = size();
+        callerBuckets.values().removeIf(bucket -> bucket.get() <= now);
+        endpointBuckets.values().removeIf(bucket -> bucket.get() <= now);
+        overflowBuckets.values().removeIf(bucket -> bucket.get() <= now);
+        logger.debug("Cubetas de límite de peticiones inactivas descartadas: {}", before - size());
+    }
+
+    int size() {
+        return callerBuckets.size() + endpointBuckets.size() + overflowBuckets.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    // Intervalo entre peticiones y ráfaga máxima de una clase de límite, en nanosegundos
+    private record Limit(long intervalNanos, long burstNanos) {
+        Limit(double requestsPerSecond, int burst) {
+            this((long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond), (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond) * burst);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +17,5 @@ public interface INotificationRepository extends JpaRepository<Notification, Lon
     Page<Notification> findAllByCustomerIdAndIsActiveTrue(Long customerId, Pageable pageable); // Obtener notificaciones por ID de cliente y activas con paginación
     List<Notification> findAllByIsActiveTrue(); // Obtener todas las notificaciones activas
     Page<Notification> findAllByIsActiveTrue(Pageable pageable); // Obtener todas las notificaciones activas con paginación
+    List<Notification> findAllByEventIdIn(Collection<String> eventIds); // Obtener notificaciones creadas por varios eventos
 }
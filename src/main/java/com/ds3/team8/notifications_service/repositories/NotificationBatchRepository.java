@@ -0,0 +1,52 @@
+package com.ds3.team8.notifications_service.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class NotificationBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (customer_id, order_id, message, template_code, template_params, is_read, created_at, updated_at, is_active) "
+                    + "VALUES (?, ?, ?, ?, ?, false, ?, ?, true)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Inserta una notificación por cliente con un único batch JDBC (sin pasar por el contexto de persistencia)
+    public int insertForCustomers(List<Long> customerIds, Long orderId, String message, String templateCode, String templateParams) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_SQL, customerIds, customerIds.size(), (ps, customerId) -> {
+            ps.setLong(1, customerId);
+            if (orderId == null) {
+                ps.setNull(2, Types.BIGINT);
+            } else {
+                ps.setLong(2, orderId);
+            }
+            ps.setString(3, message);
+            ps.setString(4, templateCode);
+            ps.setString(5, templateParams);
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+        return customerIds.size() - countFailures(results);
+    }
+
+    private int countFailures(int[][] results) {
+        int failures = 0;
+        for (int[] batch : results) {
+            for (int result : batch) {
+                if (result == 0) failures++;
+            }
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,250 @@
+package com.ds3.team8.notifications_service.services;
+
+import com.ds3.team8.notifications_service.client.UserClient;
+import com.ds3.team8.notifications_service.dtos.BroadcastRequest;
+import com.ds3.team8.notifications_service.dtos.BroadcastResponse;
+import com.ds3.team8.notifications_service.dtos.enums.BroadcastStatus;
+import com.ds3.team8.notifications_service.exceptions.BadRequestException;
+import com.ds3.team8.notifications_service.exceptions.NotFoundException;
+import com.ds3.team8.notifications_service.exceptions.ServiceUnavailableException;
+import com.ds3.team8.notifications_service.repositories.NotificationBatchRepository;
+import com.ds3.team8.notifications_service.templates.NotificationContentValidator;
+import com.ds3.team8.notifications_service.templates.NotificationTemplateRegistry;
+
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class BroadcastServiceImpl implements IBroadcastService {
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastServiceImpl.class);
+
+    private final NotificationBatchRepository batchRepository;
+    private final NotificationContentValidator contentValidator;
+    private final UserClient userClient;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+    private final int maxRecipients;
+    private final boolean validateRecipients;
+    // Número máximo de envíos masivos cuyo estado se conserva en memoria
+    private final int maxTrackedJobs;
+
+    // Los envíos se procesan de uno en uno para no acaparar el pool de conexiones, con como mucho
+    // uno en espera: así solo hay dos listas de destinatarios en memoria y el resto se rechaza
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), r -> new Thread(r, "broadcast-worker"), new ThreadPoolExecutor.AbortPolicy());
+    private final Map<String, BroadcastJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> jobOrder = new ConcurrentLinkedQueue<>();
+    // Consultas al servicio de usuarios en paralelo, acotadas para no saturarlo
+    private final ExecutorService validationExecutor;
+
+    public BroadcastServiceImpl(NotificationBatchRepository batchRepository,
+                                NotificationContentValidator contentValidator,
+                                UserClient userClient,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${notifications.broadcast.chunk-size:500}") int chunkSize,
+                                @Value("${notifications.broadcast.max-recipients:20000}") int maxRecipients,
+                                @Value("${notifications.broadcast.validate-recipients:true}") boolean validateRecipients,
+                                @Value("${notifications.broadcast.validation-parallelism:8}") int validationParallelism,
+                                @Value("${notifications.broadcast.max-tracked-jobs:100}") int maxTrackedJobs) {
+        this.batchRepository = batchRepository;
+        this.contentValidator = contentValidator;
+        this.userClient = userClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRecipients = maxRecipients;
+        this.validateRecipients = validateRecipients;
+        this.maxTrackedJobs = maxTrackedJobs;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.validationExecutor = Executors.newFixedThreadPool(validationParallelism,
+                r -> new Thread(r, "broadcast-validator-" + threadNumber.getAndIncrement()));
+    }
+
+    @Override
+    public BroadcastResponse start(BroadcastRequest broadcastRequest, String userIdHeader, String roleHeader) {
+        // Validar el contenido de la notificación
+        contentValidator.validate(broadcastRequest.getMessage(), broadcastRequest.getTemplateCode(), broadcastRequest.getTemplateParams());
+
+        // Eliminar destinatarios nulos y repetidos conservando el orden
+        List<Long> recipients = new ArrayList<>(new LinkedHashSet<>(broadcastRequest.getCustomerIds()));
+        recipients.removeIf(Objects::isNull);
+        if (recipients.isEmpty()) {
+            logger.warn("Envío masivo sin destinatarios válidos");
+            throw new BadRequestException("No se indicaron destinatarios válidos");
+        }
+        if (recipients.size() > maxRecipients) {
+            logger.warn("Envío masivo con {} destinatarios, máximo permitido {}", recipients.size(), maxRecipients);
+            throw new BadRequestException("El número de destinatarios no puede exceder " + maxRecipients);
+        }
+
+        BroadcastJob job = new BroadcastJob(UUID.randomUUID().toString(), recipients.size());
+        if (!tryTrack(job)) {
+            logger.warn("Envío masivo rechazado: {} envíos registrados sin terminar", jobs.size());
+            throw new ServiceUnavailableException("Demasiados envíos masivos en curso, intente más tarde");
+        }
+        try {
+            // El envío se procesa en otro hilo sin petición HTTP: las cabeceras del usuario se pasan explícitamente
+            CallerHeaders caller = new CallerHeaders(userIdHeader, roleHeader);
+            executor.execute(() -> run(job, recipients, broadcastRequest, caller));
+        } catch (RejectedExecutionException e) {
+            untrack(job);
+            logger.warn("Envío masivo rechazado: ya hay un envío en curso y otro en espera");
+            throw new ServiceUnavailableException("Ya hay un envío masivo en espera, intente más tarde");
+        }
+        logger.info("Envío masivo {} creado para {} destinatarios", job.id, recipients.size());
+        return job.toResponse();
+    }
+
+    @Override
+    public BroadcastResponse getStatus(String jobId) {
+        BroadcastJob job = jobs.get(jobId);
+        if (job == null) {
+            logger.warn("Envío masivo con ID {} no encontrado", jobId);
+            throw new NotFoundException("Envío masivo no encontrado");
+        }
+        return job.toResponse();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        validationExecutor.shutdown();
+    }
+
+    private void run(BroadcastJob job, List<Long> recipients, BroadcastRequest request, CallerHeaders caller) {
+        job.status = BroadcastStatus.RUNNING;
+        String templateParams = NotificationTemplateRegistry.encodeParams(request.getTemplateParams());
+        String message = request.getTemplateCode() == null ? request.getMessage() : null;
+        try {
+            // Procesar los destinatarios en bloques acotados, cada uno en su propia transacción;
+            // los destinatarios de un bloque se validan en paralelo
+            for (int from = 0; from < recipients.size(); from += chunkSize) {
+                List<Long> chunk = recipients.subList(from, Math.min(from + chunkSize, recipients.size()));
+                List<Long> accepted = validateRecipients ? filterExistingUsers(chunk, caller) : chunk;
+                if (!accepted.isEmpty()) {
+                    Integer created = transactionTemplate.execute(status -> batchRepository.insertForCustomers(
+                            accepted, request.getOrderId(), message, request.getTemplateCode(), templateParams));
+                    job.created.addAndGet(created == null ? 0 : created);
+                }
+                job.rejected.addAndGet(chunk.size() - accepted.size());
+                job.processed.addAndGet(chunk.size());
+            }
+            job.status = BroadcastStatus.COMPLETED;
+            logger.info("Envío masivo {} completado: {} notificaciones creadas, {} destinatarios rechazados",
+                    job.id, job.created.get(), job.rejected.get());
+        } catch (RuntimeException e) {
+            job.status = BroadcastStatus.FAILED;
+            logger.error("Error en el envío masivo {}: {}", job.id, e.getMessage(), e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    // Solo un 404 descarta al destinatario; cualquier otro error del servicio de usuarios (caída, timeout, 5xx)
+    // se propaga y hace fallar el envío en lugar de marcar como rechazados a destinatarios que quizá existen
+    private List<Long> filterExistingUsers(List<Long> customerIds, CallerHeaders caller) {
+        List<Callable<Boolean>> lookups = new ArrayList<>(customerIds.size());
+        for (Long customerId : customerIds) {
+            lookups.add(() -> userExists(customerId, caller));
+        }
+        List<Long> existing = new ArrayList<>(customerIds.size());
+        try {
+            List<Future<Boolean>> results = validationExecutor.invokeAll(lookups);
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).get()) existing.add(customerIds.get(i));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validación de destinatarios interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+        return existing;
+    }
+
+    private boolean userExists(Long customerId, CallerHeaders caller) {
+        try {
+            userClient.getUserById(customerId, caller.userId(), caller.role());
+            return true;
+        } catch (FeignException.NotFound e) {
+            logger.warn("Destinatario con ID {} descartado: no existe", customerId);
+            return false;
+        }
+    }
+
+    // Registra el envío si hay sitio, descartando primero los envíos terminados más antiguos
+    private synchronized boolean tryTrack(BroadcastJob job) {
+        Iterator<String> oldest = jobOrder.iterator();
+        while (jobs.size() >= maxTrackedJobs && oldest.hasNext()) {
+            String jobId = oldest.next();
+            BroadcastJob tracked = jobs.get(jobId);
+            if (tracked == null || tracked.finishedAt != null) {
+                oldest.remove();
+                jobs.remove(jobId);
+            }
+        }
+        if (jobs.size() >= maxTrackedJobs) return false;
+        jobs.put(job.id, job);
+        jobOrder.add(job.id);
+        return true;
+    }
+
+    private synchronized void untrack(BroadcastJob job) {
+        jobs.remove(job.id);
+        jobOrder.remove(job.id);
+    }
+
+    // Cabeceras del usuario que inició el envío
+    private record CallerHeaders(String userId, String role) {
+    }
+
+    private static final class BroadcastJob {
+        private final String id;
+        private final int total;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private volatile BroadcastStatus status = BroadcastStatus.PENDING;
+        private volatile LocalDateTime finishedAt;
+
+        private BroadcastJob(String id, int total) {
+            this.id = id;
+            this.total = total;
+        }
+
+        private BroadcastResponse toResponse() {
+            return new BroadcastResponse(id, status, total, processed.get(), created.get(), rejected.get(), startedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ds3.team8.notifications_service.services;
+
+import com.ds3.team8.notifications_service.dtos.CacheStatisticsResponse;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CacheStatisticsServiceImpl implements ICacheStatisticsService {
+    // Región de la caché de segundo nivel declarada en la entidad Notification
+    private static final String NOTIFICATIONS_REGION = "notifications";
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheStatisticsServiceImpl.class);
+
+    private final Statistics statistics;
+
+    public CacheStatisticsServiceImpl(EntityManagerFactory entityManagerFactory) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        // La región se resuelve al arrancar: si falta es un error de configuración y la aplicación no debe iniciar
+        this.statistics = sessionFactory.getStatistics();
+        CacheRegionStatistics regionStatistics;
+        try {
+            regionStatistics = statistics.getDomainDataRegionStatistics(NOTIFICATIONS_REGION);
+        } catch (IllegalArgumentException e) {
+            regionStatistics = null;
+        }
+        if (regionStatistics == null) {
+            logger.error("Región de caché {} no configurada", NOTIFICATIONS_REGION);
+            throw new IllegalStateException("La región de caché '" + NOTIFICATIONS_REGION + "' no está configurada");
+        }
+    }
+
+    @Override
+    public CacheStatisticsResponse getNotificationCacheStatistics() {
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(NOTIFICATIONS_REGION);
+        long hits = regionStatistics.getHitCount();
+        long misses = regionStatistics.getMissCount();
+        double hitRatio = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+        logger.info("Caché {}: {} aciertos, {} fallos", NOTIFICATIONS_REGION, hits, misses);
+        return new CacheStatisticsResponse(
+                NOTIFICATIONS_REGION,
+                hits,
+                misses,
+                regionStatistics.getPutCount(),
+                hitRatio,
+                regionStatistics.getElementCountInMemory()
+        );
+    }
+}
@@ -0,0 +1,9 @@
+package com.ds3.team8.notifications_service.services;
+
+import com.ds3.team8.notifications_service.dtos.BroadcastRequest;
+import com.ds3.team8.notifications_service.dtos.BroadcastResponse;
+
+public interface IBroadcastService {
+    BroadcastResponse start(BroadcastRequest broadcastRequest, String userIdHeader, String roleHeader); // Iniciar el envío masivo de una notificación
+    BroadcastResponse getStatus(String jobId); // Obtener el progreso de un envío masivo
+}
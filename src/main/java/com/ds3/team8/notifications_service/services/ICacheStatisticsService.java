@@ -0,0 +1,7 @@
+package com.ds3.team8.notifications_service.services;
+
+import com.ds3.team8.notifications_service.dtos.CacheStatisticsResponse;
+
+public interface ICacheStatisticsService {
+    CacheStatisticsResponse getNotificationCacheStatistics(); // Obtener las estadísticas de la caché de notificaciones
+}
@@ -1,7 +1,9 @@
 package com.ds3.team8.notifications_service.services;
 
+import com.ds3.team8.notifications_service.dtos.NotificationBatchResponse;
 import com.ds3.team8.notifications_service.dtos.NotificationRequest;
 import com.ds3.team8.notifications_service.dtos.NotificationResponse;
+import com.ds3.team8.notifications_service.events.OrderStatusChangedEvent;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -12,7 +14,9 @@ public interface INotificationService {
     NotificationResponse save(NotificationRequest notificationRequest); // Crear una notificación
     Page<NotificationResponse> findAllPageable(Pageable pageable); // Obtener todas las notificaciones con paginación
     NotificationResponse findById(Long id); // Obtener una notificación por su ID
+    NotificationBatchResponse findAllByIds(List<Long> ids); // Obtener varias notificaciones por sus IDs
     List<NotificationResponse> findAllByCustomerId(Long customerId); // Obtener notificaciones por ID de cliente
     Page<NotificationResponse> findAllByCustomerId(Long customerId, Pageable pageable); // Obtener notificaciones por ID de cliente con paginación
     NotificationResponse markAsRead(Long id); // Marcar una notificación como leída
+    int saveFromOrderEvents(List<OrderStatusChangedEvent> events); // Crear notificaciones a partir de eventos de pedidos
 }
@@ -2,24 +2,40 @@ package com.ds3.team8.notifications_service.services;
 
 import com.ds3.team8.notifications_service.client.OrderClient;
 import com.ds3.team8.notifications_service.client.UserClient;
+import com.ds3.team8.notifications_service.client.dtos.OrderResponse;
+import com.ds3.team8.notifications_service.coalescing.NotificationCoalescer;
+import com.ds3.team8.notifications_service.dtos.NotificationBatchResponse;
 import com.ds3.team8.notifications_service.dtos.NotificationRequest;
 import com.ds3.team8.notifications_service.dtos.NotificationResponse;
 import com.ds3.team8.notifications_service.entities.Notification;
+import com.ds3.team8.notifications_service.events.OrderStatusChangedEvent;
+import com.ds3.team8.notifications_service.exceptions.BadRequestException;
 import com.ds3.team8.notifications_service.exceptions.NotFoundException;
 import com.ds3.team8.notifications_service.mappers.NotificationMapper;
 import com.ds3.team8.notifications_service.repositories.INotificationRepository;
+import com.ds3.team8.notifications_service.templates.NotificationContentValidator;
+import com.ds3.team8.notifications_service.templates.NotificationTemplateRegistry;
 
 import feign.FeignException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class NotificationServiceImpl implements INotificationService {
@@ -27,14 +43,29 @@ public class NotificationServiceImpl implements INotificationService {
     private final NotificationMapper notificationMapper;
     private final OrderClient orderClient;
     private final UserClient userClient;
+    private final NotificationContentValidator contentValidator;
+    private final NotificationTemplateRegistry templateRegistry;
+    private final NotificationCoalescer notificationCoalescer;
+    private final boolean emptyAsNotFound;
+    private final int batchMaxIds;
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationServiceImpl.class);
 
-    public NotificationServiceImpl(INotificationRepository notificationRepository, NotificationMapper notificationMapper, OrderClient orderClient, UserClient userClient) {
+    // Excepciones preasignadas (sin traza de pila) para las respuestas 404 frecuentes
+    private static final NotFoundException NO_ACTIVE_NOTIFICATIONS = new NotFoundException("No se encontraron notificaciones activas");
+    private static final NotFoundException NO_CUSTOMER_NOTIFICATIONS = new NotFoundException("No se encontraron notificaciones para el cliente");
+    private static final NotFoundException NOTIFICATION_NOT_FOUND = new NotFoundException("Notificación no encontrada");
+
+    public NotificationServiceImpl(INotificationRepository notificationRepository, NotificationMapper notificationMapper, OrderClient orderClient, UserClient userClient, NotificationContentValidator contentValidator, NotificationTemplateRegistry templateRegistry, NotificationCoalescer notificationCoalescer, @Value("${notifications.read.empty-as-not-found:true}") boolean emptyAsNotFound, @Value("${notifications.batch.max-ids:100}") int batchMaxIds) {
         this.notificationRepository = notificationRepository;
         this.notificationMapper = notificationMapper;
         this.orderClient = orderClient;
         this.userClient = userClient;
+        this.contentValidator = contentValidator;
+        this.templateRegistry = templateRegistry;
+        this.notificationCoalescer = notificationCoalescer;
+        this.emptyAsNotFound = emptyAsNotFound;
+        this.batchMaxIds = batchMaxIds;
     }
 
     @Override
@@ -43,8 +74,11 @@ public class NotificationServiceImpl implements INotificationService {
         // Obtener todas las notificaciones activas
         List<Notification> notifications = notificationRepository.findAllByIsActiveTrue();
         if (notifications.isEmpty()) {
-            logger.warn("No se encontraron notificaciones activas");
-            throw new NotFoundException("No se encontraron notificaciones activas");
+            if (emptyAsNotFound) {
+                logger.warn("No se encontraron notificaciones activas");
+                throw NO_ACTIVE_NOTIFICATIONS;
+            }
+            return List.of();
         }
         // Mapear a DTOs
         logger.info("Número de notificaciones activas encontradas: {}", notifications.size());
@@ -54,6 +88,8 @@ public class NotificationServiceImpl implements INotificationService {
     @Override
     @Transactional
     public NotificationResponse save(NotificationRequest notificationRequest) {
+        // Validar el contenido de la notificación
+        contentValidator.validate(notificationRequest.getMessage(), notificationRequest.getTemplateCode(), notificationRequest.getTemplateParams());
         // Validar que el pedido existe
         validateOrder(notificationRequest.getOrderId());
         // Validar que el usuario existe
@@ -61,8 +97,8 @@ public class NotificationServiceImpl implements INotificationService {
 
         // Mapear a entidad
         Notification notification = notificationMapper.toNotification(notificationRequest);
-        // Guardar la notificación
-        Notification savedNotification = notificationRepository.save(notification);
+        // Guardar la notificación (agrupándola con las recientes del mismo pedido si está activado)
+        Notification savedNotification = notificationCoalescer.save(notification);
         logger.info("Notificación creada con ID: {}", savedNotification.getId());
         return notificationMapper.toNotificationResponse(savedNotification);
     }
@@ -72,9 +108,9 @@ public class NotificationServiceImpl implements INotificationService {
     public Page<NotificationResponse> findAllPageable(Pageable pageable) {
         // Obtener todas las notificaciones con paginación
         Page<Notification> notificationPage = notificationRepository.findAllByIsActiveTrue(pageable);
-        if (notificationPage.isEmpty()) {
+        if (notificationPage.isEmpty() && emptyAsNotFound) {
             logger.warn("No se encontraron notificaciones activas");
-            throw new NotFoundException("No se encontraron notificaciones activas");
+            throw NO_ACTIVE_NOTIFICATIONS;
         }
         logger.info("Número de notificaciones activas encontradas: {}", notificationPage.getTotalElements());
         return notificationPage.map(notificationMapper::toNotificationResponse);
@@ -87,12 +123,44 @@ public class NotificationServiceImpl implements INotificationService {
         Optional<Notification> optionalNotification = notificationRepository.findById(id);
         if (optionalNotification.isEmpty()) {
             logger.error("Notificación con ID {} no encontrada", id);
-            throw new NotFoundException("Notificación no encontrada");
+            throw NOTIFICATION_NOT_FOUND;
         }
         logger.info("Notificación encontrada con ID: {}", id);
         return notificationMapper.toNotificationResponse(optionalNotification.get());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationBatchResponse findAllByIds(List<Long> ids) {
+        // Eliminar IDs nulos y repetidos conservando el orden de la petición
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        requestedIds.remove(null);
+        if (requestedIds.isEmpty()) {
+            logger.warn("Consulta múltiple sin IDs");
+            throw new BadRequestException("Se debe indicar al menos un ID");
+        }
+        if (requestedIds.size() > batchMaxIds) {
+            logger.warn("Consulta múltiple con {} IDs, máximo permitido {}", requestedIds.size(), batchMaxIds);
+            throw new BadRequestException("No se pueden consultar más de " + batchMaxIds + " notificaciones a la vez");
+        }
+        // Una sola consulta para todos los IDs
+        Map<Long, Notification> found = notificationRepository.findAllById(requestedIds).stream()
+                .collect(Collectors.toMap(Notification::getId, Function.identity()));
+
+        List<NotificationResponse> notifications = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Notification notification = found.get(id);
+            if (notification == null) {
+                missingIds.add(id);
+            } else {
+                notifications.add(notificationMapper.toNotificationResponse(notification));
+            }
+        }
+        logger.info("Consulta múltiple: {} notificaciones encontradas, {} no encontradas", notifications.size(), missingIds.size());
+        return new NotificationBatchResponse(notifications, missingIds);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<NotificationResponse> findAllByCustomerId(Long customerId) {
@@ -101,8 +169,11 @@ public class NotificationServiceImpl implements INotificationService {
         // Obtener notificaciones por ID de cliente
         List<Notification> notifications = notificationRepository.findAllByCustomerIdAndIsActiveTrue(customerId);
         if (notifications.isEmpty()) {
-            logger.warn("No se encontraron notificaciones para el cliente con ID: {}", customerId);
-            throw new NotFoundException("No se encontraron notificaciones para el cliente");
+            if (emptyAsNotFound) {
+                logger.warn("No se encontraron notificaciones para el cliente con ID: {}", customerId);
+                throw NO_CUSTOMER_NOTIFICATIONS;
+            }
+            return List.of();
         }
         logger.info("Número de notificaciones encontradas para el cliente con ID {}: {}", customerId, notifications.size());
         return notificationMapper.toNotificationList(notifications);
@@ -115,9 +186,9 @@ public class NotificationServiceImpl implements INotificationService {
         validateUser(customerId);
         // Obtener notificaciones por ID de cliente con paginación
         Page<Notification> notificationPage = notificationRepository.findAllByCustomerIdAndIsActiveTrue(customerId, pageable);
-        if (notificationPage.isEmpty()) {
+        if (notificationPage.isEmpty() && emptyAsNotFound) {
             logger.warn("No se encontraron notificaciones para el cliente con ID: {}", customerId);
-            throw new NotFoundException("No se encontraron notificaciones para el cliente");
+            throw NO_CUSTOMER_NOTIFICATIONS;
         }
         logger.info("Número de notificaciones encontradas para el cliente con ID {}: {}", customerId, notificationPage.getTotalElements());
         return notificationPage.map(notificationMapper::toNotificationResponse);
@@ -130,7 +201,7 @@ public class NotificationServiceImpl implements INotificationService {
         Optional<Notification> optionalNotification = notificationRepository.findById(id);
         if (optionalNotification.isEmpty()) {
             logger.error("Notificación con ID {} no encontrada para marcar como leída", id);
-            throw new NotFoundException("Notificación no encontrada");
+            throw NOTIFICATION_NOT_FOUND;
         }
         // Marcar como leída
         Notification notification = optionalNotification.get();
@@ -140,7 +211,50 @@ public class NotificationServiceImpl implements INotificationService {
         return notificationMapper.toNotificationResponse(updatedNotification);
     }
 
-    
+    @Override
+    @Transactional
+    public int saveFromOrderEvents(List<OrderStatusChangedEvent> events) {
+        // El pedido viaja en el evento, no es necesario consultarlo al servicio de pedidos
+        Set<String> eventIds = events.stream()
+                .map(OrderStatusChangedEvent::getEventId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        // Eventos ya procesados (la entrega es al menos una vez); event_id es único en la tabla
+        Set<String> processed = notificationRepository.findAllByEventIdIn(eventIds).stream()
+                .map(Notification::getEventId)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<Notification> notifications = new ArrayList<>(events.size());
+        for (OrderStatusChangedEvent event : events) {
+            OrderResponse order = event.getOrder();
+            if (event.getEventId() == null || order == null || order.getId() == null || order.getCustomerId() == null || order.getOrderStatus() == null) {
+                logger.warn("Evento de pedido {} incompleto, se descarta", event.getEventId());
+                continue;
+            }
+            String templateCode = "ORDER_" + order.getOrderStatus().name();
+            if (!templateRegistry.exists(templateCode)) {
+                logger.warn("No hay plantilla {} para el evento {}, se descarta", templateCode, event.getEventId());
+                continue;
+            }
+            if (!processed.add(event.getEventId())) {
+                logger.info("Evento {} duplicado para el pedido {}, se descarta", event.getEventId(), order.getId());
+                continue;
+            }
+            Notification notification = new Notification(
+                    order.getCustomerId(),
+                    order.getId(),
+                    templateCode,
+                    NotificationTemplateRegistry.encodeParams(List.of(order.getId().toString()))
+            );
+            notification.setEventId(event.getEventId());
+            notifications.add(notification);
+        }
+        // Las ráfagas de cambios de estado de un mismo pedido se agrupan igual que en save
+        notificationCoalescer.saveAll(notifications);
+        logger.info("Lote de {} eventos de pedidos procesado, {} notificaciones guardadas", events.size(), notifications.size());
+        return notifications.size();
+    }
+
     private void validateUser(Long userId) {
         try {
             userClient.getUserById(userId);
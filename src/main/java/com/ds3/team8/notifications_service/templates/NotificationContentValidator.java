@@ -0,0 +1,65 @@
+package com.ds3.team8.notifications_service.templates;
+
+import com.ds3.team8.notifications_service.exceptions.BadRequestException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class NotificationContentValidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationContentValidator.class);
+
+    private final NotificationTemplateRegistry templateRegistry;
+
+    public NotificationContentValidator(NotificationTemplateRegistry templateRegistry) {
+        this.templateRegistry = templateRegistry;
+    }
+
+    // Una notificación debe tener un mensaje libre o una plantilla existente con sus parámetros, nunca ambos
+    public void validate(String message, String templateCode, List<String> templateParams) {
+        boolean hasMessage = message != null && !message.isBlank();
+        if (templateCode == null) {
+            if (!hasMessage) {
+                logger.warn("Notificación sin mensaje ni plantilla");
+                throw new BadRequestException("Se debe indicar 'message' o 'templateCode'");
+            }
+            return;
+        }
+        if (hasMessage) {
+            logger.warn("Notificación con mensaje y plantilla {} a la vez", templateCode);
+            throw new BadRequestException("No se pueden indicar 'message' y 'templateCode' a la vez");
+        }
+        if (!templateRegistry.exists(templateCode)) {
+            logger.warn("Plantilla de notificación {} no existe", templateCode);
+            throw new BadRequestException("La plantilla '" + templateCode + "' no existe");
+        }
+        validateParams(templateCode, templateParams == null ? List.of() : templateParams);
+    }
+
+    private void validateParams(String templateCode, List<String> templateParams) {
+        int required = templateRegistry.requiredParams(templateCode);
+        if (templateParams.size() < required) {
+            logger.warn("Plantilla {} con {} parámetros, se necesitan {}", templateCode, templateParams.size(), required);
+            throw new BadRequestException("La plantilla '" + templateCode + "' necesita " + required + " parámetros");
+        }
+        for (String param : templateParams) {
+            if (param == null) {
+                throw new BadRequestException("Los parámetros de la plantilla no pueden ser nulos");
+            }
+            if (param.contains(NotificationTemplateRegistry.PARAM_SEPARATOR)) {
+                logger.warn("Parámetro de la plantilla {} con el carácter separador", templateCode);
+                throw new BadRequestException("Los parámetros de la plantilla contienen caracteres no permitidos");
+            }
+        }
+        String encoded = NotificationTemplateRegistry.encodeParams(templateParams);
+        if (encoded != null && encoded.length() > NotificationTemplateRegistry.MAX_ENCODED_PARAMS_LENGTH) {
+            logger.warn("Parámetros de la plantilla {} demasiado largos: {} caracteres", templateCode, encoded.length());
+            throw new BadRequestException("Los parámetros de la plantilla no pueden exceder los "
+                    + NotificationTemplateRegistry.MAX_ENCODED_PARAMS_LENGTH + " caracteres en total");
+        }
+    }
+}
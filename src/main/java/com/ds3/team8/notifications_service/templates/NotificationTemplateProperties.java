@@ -0,0 +1,35 @@
+package com.ds3.team8.notifications_service.templates;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+public class NotificationTemplateProperties {
+    // Prefijo de las plantillas; solo se enlaza este subárbol, no el resto de propiedades "notifications.*"
+    public static final String PREFIX = "notifications.templates";
+
+    // Plantillas disponibles: código -> texto con marcadores {0}, {1}, ...
+    // Ejemplo: notifications.templates.ORDER_PAID=Tu pedido #{0} ha sido pagado
+    private Map<String, String> templates = new HashMap<>();
+
+    public NotificationTemplateProperties() {
+    }
+
+    @Autowired
+    public NotificationTemplateProperties(Environment environment) {
+        this.templates = Binder.get(environment)
+                .bind(PREFIX, Bindable.mapOf(String.class, String.class))
+                .orElseGet(HashMap::new);
+    }
+}
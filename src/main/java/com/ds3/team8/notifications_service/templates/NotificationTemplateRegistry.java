@@ -0,0 +1,110 @@
+package com.ds3.team8.notifications_service.templates;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class NotificationTemplateRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationTemplateRegistry.class);
+
+    // Separador de parámetros en la columna template_params (carácter de control, no aparece en textos normales)
+    public static final String PARAM_SEPARATOR = "\u001F";
+
+    // Longitud de la columna template_params
+    public static final int MAX_ENCODED_PARAMS_LENGTH = 255;
+
+    // Plantillas precompiladas en memoria, una sola instancia por código
+    private final Map<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+
+    public NotificationTemplateRegistry(NotificationTemplateProperties properties) {
+        properties.getTemplates().forEach((code, text) -> templates.put(code, CompiledTemplate.compile(text)));
+        logger.info("Plantillas de notificación cargadas: {}", templates.keySet());
+    }
+
+    public boolean exists(String code) {
+        return code != null && templates.containsKey(code);
+    }
+
+    // Número de parámetros que necesita la plantilla (mayor índice de marcador + 1)
+    public int requiredParams(String code) {
+        CompiledTemplate template = templates.get(code);
+        return template == null ? 0 : template.requiredParams;
+    }
+
+    // Renderiza la plantilla con los parámetros almacenados en la notificación
+    public String render(String code, String encodedParams) {
+        CompiledTemplate template = templates.get(code);
+        if (template == null) {
+            logger.warn("Plantilla de notificación {} no encontrada", code);
+            return null;
+        }
+        return template.render(decodeParams(encodedParams));
+    }
+
+    public static String encodeParams(List<String> params) {
+        if (params == null || params.isEmpty()) return null;
+        return String.join(PARAM_SEPARATOR, params);
+    }
+
+    public static List<String> decodeParams(String encodedParams) {
+        if (encodedParams == null || encodedParams.isEmpty()) return List.of();
+        return Arrays.asList(encodedParams.split(PARAM_SEPARATOR, -1));
+    }
+
+    // Plantilla dividida en fragmentos literales y posiciones de parámetros
+    private static final class CompiledTemplate {
+        private final String[] literals;
+        private final int[] paramIndexes;
+        private final int requiredParams;
+
+        private CompiledTemplate(String[] literals, int[] paramIndexes) {
+            this.literals = literals;
+            this.paramIndexes = paramIndexes;
+            this.requiredParams = Arrays.stream(paramIndexes).max().orElse(-1) + 1;
+        }
+
+        static CompiledTemplate compile(String text) {
+            List<String> literals = new ArrayList<>();
+            List<Integer> indexes = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                int close = c == '{' ? text.indexOf('}', i) : -1;
+                if (close > i + 1 && text.substring(i + 1, close).chars().allMatch(Character::isDigit)) {
+                    literals.add(current.toString());
+                    indexes.add(Integer.parseInt(text.substring(i + 1, close)));
+                    current.setLength(0);
+                    i = close + 1;
+                } else {
+                    current.append(c);
+                    i++;
+                }
+            }
+            literals.add(current.toString());
+            return new CompiledTemplate(
+                    literals.toArray(new String[0]),
+                    indexes.stream().mapToInt(Integer::intValue).toArray()
+            );
+        }
+
+        String render(List<String> params) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < paramIndexes.length; i++) {
+                sb.append(literals[i]);
+                int index = paramIndexes[i];
+                sb.append(index < params.size() ? params.get(index) : "");
+            }
+            sb.append(literals[literals.length - 1]);
+            return sb.toString();
+        }
+    }
+}
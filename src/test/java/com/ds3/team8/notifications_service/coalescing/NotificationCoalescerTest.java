@@ -0,0 +1,257 @@
+package com.ds3.team8.notifications_service.coalescing;
+
+import com.ds3.team8.notifications_service.entities.Notification;
+import com.ds3.team8.notifications_service.repositories.INotificationRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationCoalescerTest {
+
+    // Contenido guardado por fila, simulando la tabla de notificaciones
+    private final Map<Long, String> table = new ConcurrentHashMap<>();
+    private final Map<Long, String> eventIds = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicInteger inserts = new AtomicInteger();
+
+    private INotificationRepository repository;
+    private PlatformTransactionManager transactionManager;
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(INotificationRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(repository.save(any(Notification.class))).thenAnswer(invocation -> store(invocation.getArgument(0)));
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            List<Notification> saved = new ArrayList<>();
+            for (Notification notification : invocation.<Iterable<Notification>>getArgument(0)) {
+                saved.add(store(notification));
+            }
+            return saved;
+        });
+        when(repository.findById(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            String message = table.get(id);
+            if (message == null) return Optional.empty();
+            Notification stored = new Notification(1L, 10L, message);
+            stored.setId(id);
+            return Optional.of(stored);
+        });
+    }
+
+    private Notification store(Notification notification) {
+        if (notification.getId() == null) {
+            notification.setId(ids.incrementAndGet());
+            inserts.incrementAndGet();
+        }
+        table.put(notification.getId(), notification.getMessage());
+        if (notification.getEventId() != null) eventIds.put(notification.getId(), notification.getEventId());
+        return notification;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) coalescer.shutdown();
+    }
+
+    @Test
+    void mergesWithinWindowAndFlushesLatestContentOnShutdown() {
+        coalescer = new NotificationCoalescer(repository, transactionManager, true, 60_000, 100);
+
+        Notification first = coalescer.save(new Notification(1L, 10L, "PENDIENTE"));
+        Notification second = coalescer.save(new Notification(1L, 10L, "PAGADO"));
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals("PAGADO", second.getMessage());
+        assertEquals(1, inserts.get());
+        assertEquals("PENDIENTE", table.get(first.getId()));
+
+        coalescer.shutdown();
+        assertEquals("PAGADO", table.get(first.getId()));
+    }
+
+    @Test
+    void expiredWindowIsFlushedInBackground() throws InterruptedException {
+        coalescer = new NotificationCoalescer(repository, transactionManager, true, 100, 100);
+
+        Notification first = coalescer.save(new Notification(1L, 10L, "PENDIENTE"));
+        coalescer.save(new Notification(1L, 10L, "PAGADO"));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"PAGADO".equals(table.get(first.getId()))) {
+            assertTrue(System.currentTimeMillis() < deadline, "la ventana no se escribió a tiempo");
+            Thread.sleep(20);
+        }
+        // Tras cerrarse la ventana la siguiente notificación abre una fila nueva
+        Notification next = coalescer.save(new Notification(1L, 10L, "PROCESANDO"));
+        assertNotEquals(first.getId(), next.getId());
+    }
+
+    @Test
+    void windowOpensOnlyAfterCommitAndIsNeverReplaced() {
+        coalescer = new NotificationCoalescer(repository, transactionManager, true, 60_000, 100);
+
+        TransactionSynchronizationManager.initSynchronization();
+        Notification first;
+        Notification second;
+        try {
+            first = coalescer.save(new Notification(1L, 10L, "PENDIENTE"));
+            // Sin confirmar todavía: no hay ventana y se inserta otra fila
+            second = coalescer.save(new Notification(1L, 10L, "PAGADO"));
+            assertNotEquals(first.getId(), second.getId());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // La primera ventana registrada se conserva aunque la segunda fila intente abrir otra
+        Notification third = coalescer.save(new Notification(1L, 10L, "PROCESANDO"));
+        assertEquals(first.getId(), third.getId());
+    }
+
+    @Test
+    void concurrentWritersNeverLoseAcknowledgedContent() throws InterruptedException {
+        coalescer = new NotificationCoalescer(repository, transactionManager, true, 60_000, 100);
+        int threads = 8;
+        int perThread = 200;
+        Map<Long, Set<String>> merged = new ConcurrentHashMap<>();
+        Map<Long, String> inserted = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    Notification notification = new Notification(1L, 10L, "m-" + thread + "-" + i);
+                    Notification result = coalescer.save(notification);
+                    if (result == notification) {
+                        inserted.put(result.getId(), result.getMessage());
+                    } else {
+                        merged.computeIfAbsent(result.getId(), id -> ConcurrentHashMap.newKeySet()).add(result.getMessage());
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+        coalescer.shutdown();
+
+        assertFalse(merged.isEmpty());
+        // Toda fila que recibió contenido agrupado debe terminar con uno de esos contenidos
+        merged.forEach((id, messages) -> assertTrue(messages.contains(table.get(id)),
+                "contenido agrupado perdido para la notificación " + id + ": " + table.get(id)));
+        assertEquals(threads * perThread, inserted.size() + merged.values().stream().mapToInt(Set::size).sum());
+    }
+
+    @Test
+    void expiredWindowIsLeftToTheBackgroundFlusher() throws InterruptedException {
+        Set<String> transactionThreads = ConcurrentHashMap.newKeySet();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            transactionThreads.add(Thread.currentThread().getName());
+            return null;
+        });
+        coalescer = new NotificationCoalescer(repository, transactionManager, true, 30, 100);
+
+        Notification first = coalescer.save(new Notification(1L, 10L, "PENDIENTE"));
+        coalescer.save(new Notification(1L, 10L, "PAGADO"));
+        Thread.sleep(50);
+        // La ventana expiró pero el hilo de fondo aún no la ha escrito: la petición solo inserta
+        Notification next = coalescer.save(new Notification(1L, 10L, "PROCESANDO"));
+
+        assertNotEquals(first.getId(), next.getId());
+        assertFalse(transactionThreads.contains(Thread.currentThread().getName()));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"PAGADO".equals(table.get(first.getId()))) {
+            assertTrue(System.currentTimeMillis() < deadline, "la ventana no se escribió a tiempo");
+            Thread.sleep(20);
+        }
+        assertEquals(Set.of("notification-coalescer"), transactionThreads);
+    }
+
+    @Test
+    void batchIsReducedToLatestPerOrderAndKeepsLastEventId() {
+        coalescer = new NotificationCoalescer(repository, transactionManager, true, 60_000, 100);
+
+        TransactionSynchronizationManager.initSynchronization();
+        List<Notification> saved;
+        try {
+            saved = coalescer.saveAll(List.of(
+                    event("e1", 10L, "PENDIENTE"),
+                    event("e2", 10L, "PAGADO"),
+                    event("e3", 11L, "PENDIENTE"),
+                    event("e4", 10L, "PROCESANDO")));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(2, inserts.get());
+        assertEquals(List.of("PENDIENTE", "PROCESANDO"), saved.stream().map(Notification::getMessage).toList());
+        Long orderRow = saved.get(1).getId();
+        assertEquals("e4", eventIds.get(orderRow));
+
+        // Un lote posterior del mismo pedido se agrupa en la ventana abierta tras confirmar
+        Notification merged = coalescer.saveAll(List.of(event("e5", 10L, "COMPLETADO"))).get(0);
+        assertEquals(orderRow, merged.getId());
+        coalescer.shutdown();
+        assertEquals("COMPLETADO", table.get(orderRow));
+        assertEquals("e5", eventIds.get(orderRow));
+    }
+
+    @Test
+    void disabledCoalescerSavesWholeBatch() {
+        coalescer = new NotificationCoalescer(repository, transactionManager, false, 60_000, 100);
+
+        coalescer.saveAll(List.of(event("e1", 10L, "PENDIENTE"), event("e2", 10L, "PAGADO")));
+
+        assertEquals(2, inserts.get());
+    }
+
+    @Test
+    void disabledCoalescerSavesEveryNotification() {
+        coalescer = new NotificationCoalescer(repository, transactionManager, false, 60_000, 100);
+
+        coalescer.save(new Notification(1L, 10L, "PENDIENTE"));
+        coalescer.save(new Notification(1L, 10L, "PAGADO"));
+
+        assertEquals(2, inserts.get());
+    }
+
+    private static Notification event(String eventId, Long orderId, String message) {
+        Notification notification = new Notification(1L, orderId, message);
+        notification.setEventId(eventId);
+        return notification;
+    }
+}
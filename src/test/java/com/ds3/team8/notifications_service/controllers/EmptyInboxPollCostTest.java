@@ -0,0 +1,115 @@
+package com.ds3.team8.notifications_service.controllers;
+
+import ch.qos.logback.classic.Level;
+
+import com.ds3.team8.notifications_service.client.enums.Role;
+import com.ds3.team8.notifications_service.exceptions.GlobalExceptionHandler;
+import com.ds3.team8.notifications_service.exceptions.NotFoundException;
+import com.ds3.team8.notifications_service.repositories.INotificationRepository;
+import com.ds3.team8.notifications_service.services.NotificationServiceImpl;
+
+import com.sun.management.ThreadMXBean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Mide el coste por consulta de una bandeja vacía: 404 mediante excepción y GlobalExceptionHandler
+// frente a 200 con lista vacía (notifications.read.empty-as-not-found=false)
+class EmptyInboxPollCostTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmptyInboxPollCostTest.class);
+
+    private static final int WARMUP_POLLS = 20_000;
+    private static final int POLLS = 200_000;
+
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+
+    private ch.qos.logback.classic.Logger serviceLogger;
+    private Level serviceLogLevel;
+
+    @BeforeEach
+    void setUp() {
+        // Sin el aviso de cada bandeja vacía para no medir la escritura del log
+        serviceLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(NotificationServiceImpl.class);
+        serviceLogLevel = serviceLogger.getLevel();
+        serviceLogger.setLevel(Level.ERROR);
+    }
+
+    @AfterEach
+    void tearDown() {
+        serviceLogger.setLevel(serviceLogLevel);
+    }
+
+    @Test
+    void measuresThrowAndHandlerAgainstEmptyList() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isCurrentThreadCpuTimeSupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        threads.setThreadCpuTimeEnabled(true);
+
+        NotificationController notFoundController = controller(true);
+        NotificationController emptyListController = controller(false);
+
+        assertEquals(HttpStatus.NOT_FOUND, poll(notFoundController).getStatusCode());
+        ResponseEntity<?> emptyResponse = poll(emptyListController);
+        assertEquals(HttpStatus.OK, emptyResponse.getStatusCode());
+        assertEquals(List.of(), emptyResponse.getBody());
+
+        Cost throwCost = measure(threads, notFoundController, HttpStatus.NOT_FOUND);
+        Cost emptyListCost = measure(threads, emptyListController, HttpStatus.OK);
+
+        logger.info("Bandeja vacía, por consulta: 404 con excepción {} bytes y {} ns de CPU; 200 con lista vacía {} bytes y {} ns de CPU",
+                throwCost.bytesPerPoll(), throwCost.cpuNanosPerPoll(), emptyListCost.bytesPerPoll(), emptyListCost.cpuNanosPerPoll());
+    }
+
+    // Repositorio sin base de datos: toda consulta devuelve una lista vacía sin reservar memoria
+    private NotificationController controller(boolean emptyAsNotFound) {
+        INotificationRepository repository = (INotificationRepository) Proxy.newProxyInstance(
+                INotificationRepository.class.getClassLoader(),
+                new Class<?>[]{INotificationRepository.class},
+                (proxy, method, args) -> List.of());
+        NotificationServiceImpl service = new NotificationServiceImpl(repository, null, null, null, null, null, null, emptyAsNotFound, 100);
+        return new NotificationController(service, null, null, null);
+    }
+
+    // Igual que Spring, la excepción de la consulta termina en el manejador global
+    private ResponseEntity<?> poll(NotificationController controller) {
+        try {
+            return controller.getAllNotifications(Role.ADMIN.name());
+        } catch (NotFoundException e) {
+            return exceptionHandler.handleNotFoundException(e);
+        }
+    }
+
+    private Cost measure(ThreadMXBean threads, NotificationController controller, HttpStatus expectedStatus) {
+        for (int i = 0; i < WARMUP_POLLS; i++) {
+            poll(controller);
+        }
+        long statusSum = 0;
+        long startBytes = threads.getCurrentThreadAllocatedBytes();
+        long startCpu = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < POLLS; i++) {
+            statusSum += poll(controller).getStatusCode().value();
+        }
+        long bytes = threads.getCurrentThreadAllocatedBytes() - startBytes;
+        long cpu = threads.getCurrentThreadCpuTime() - startCpu;
+        // Usar cada respuesta evita que el JIT descarte el trabajo medido
+        assertEquals((long) POLLS * expectedStatus.value(), statusSum);
+        return new Cost(bytes / POLLS, cpu / POLLS);
+    }
+
+    private record Cost(long bytesPerPoll, long cpuNanosPerPoll) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.ds3.team8.notifications_service.events;
+
+import com.ds3.team8.notifications_service.client.dtos.OrderResponse;
+import com.ds3.team8.notifications_service.client.enums.OrderStatus;
+import com.ds3.team8.notifications_service.exceptions.ServiceUnavailableException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryOrderEventTransportTest {
+
+    private InMemoryOrderEventTransport transport;
+
+    @AfterEach
+    void tearDown() {
+        if (transport != null) transport.stop();
+    }
+
+    @Test
+    void deliversEventsOfSameCustomerInOrderAndInBoundedBatches() throws InterruptedException {
+        transport = new InMemoryOrderEventTransport(4, 1000, 10, 3, 1, 1000, 100);
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        transport.start(batch -> {
+            batchSizes.add(batch.size());
+            batch.forEach(event -> delivered.add(event.getEventId()));
+        });
+
+        for (int i = 0; i < 50; i++) {
+            transport.publish(event("a-" + i, 7L));
+            transport.publish(event("b-" + i, 8L));
+        }
+        waitUntil(() -> delivered.size() == 100);
+
+        assertEquals(sequence("a-", 50), filter(delivered, "a-"));
+        assertEquals(sequence("b-", 50), filter(delivered, "b-"));
+        synchronized (batchSizes) {
+            assertTrue(batchSizes.stream().allMatch(size -> size <= 10), "lotes mayores que el máximo: " + batchSizes);
+        }
+    }
+
+    @Test
+    void failingEventIsParkedWithoutLosingTheRestOfItsBatch() throws InterruptedException {
+        transport = new InMemoryOrderEventTransport(1, 100, 10, 2, 1, 1000, 100);
+        // Se publican antes de arrancar para que lleguen en el mismo lote
+        transport.publish(event("good-1", 1L));
+        transport.publish(event("bad", 1L));
+        transport.publish(event("good-2", 1L));
+
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        transport.start(batch -> {
+            if (batch.stream().anyMatch(event -> event.getEventId().equals("bad"))) {
+                throw new IllegalStateException("evento defectuoso");
+            }
+            batch.forEach(event -> delivered.add(event.getEventId()));
+        });
+        waitUntil(() -> transport.getDeadLetters().size() == 1);
+
+        assertEquals(List.of("good-1", "good-2"), new ArrayList<>(delivered));
+        assertEquals("bad", transport.getDeadLetters().get(0).getEventId());
+    }
+
+    @Test
+    void publishFailsFastWhenPartitionIsFull() {
+        transport = new InMemoryOrderEventTransport(1, 1, 10, 1, 1, 10, 100);
+        transport.publish(event("first", 1L));
+
+        assertThrows(ServiceUnavailableException.class, () -> transport.publish(event("second", 1L)));
+    }
+
+    @Test
+    void stopDeliversPendingEvents() {
+        transport = new InMemoryOrderEventTransport(2, 1000, 5, 1, 1, 1000, 100);
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 200; i++) {
+            transport.publish(event("e-" + i, (long) i));
+        }
+        transport.start(batch -> batch.forEach(event -> delivered.add(event.getEventId())));
+        transport.stop();
+
+        assertEquals(200, delivered.size());
+    }
+
+    private static OrderStatusChangedEvent event(String eventId, Long customerId) {
+        OrderResponse order = new OrderResponse(1L, customerId, OrderStatus.PAID, BigDecimal.TEN, LocalDateTime.now(), LocalDateTime.now());
+        return new OrderStatusChangedEvent(eventId, order, LocalDateTime.now());
+    }
+
+    private static List<String> sequence(String prefix, int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) ids.add(prefix + i);
+        return ids;
+    }
+
+    private static List<String> filter(List<String> ids, String prefix) {
+        synchronized (ids) {
+            return ids.stream().filter(id -> id.startsWith(prefix)).toList();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) throw new AssertionError("condición no alcanzada a tiempo");
+            Thread.sleep(10);
+        }
+    }
+}
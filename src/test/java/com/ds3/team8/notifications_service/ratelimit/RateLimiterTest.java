@@ -0,0 +1,137 @@
+package com.ds3.team8.notifications_service.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private static final String ENDPOINT = "GET /api/v1/notifications/{id}";
+
+    private RateLimiter rateLimiter;
+
+    @AfterEach
+    void tearDown() {
+        if (rateLimiter != null) rateLimiter.shutdown();
+    }
+
+    private RateLimiter limiter(double userRate, int userBurst, double endpointRate, int endpointBurst, int maxKeys) {
+        return limiter(userRate, userBurst, endpointRate, endpointBurst, 1000, 2000, maxKeys);
+    }
+
+    private RateLimiter limiter(double userRate, int userBurst, double endpointRate, int endpointBurst,
+                                double overflowRate, int overflowBurst, int maxKeys) {
+        rateLimiter = new RateLimiter(userRate, userBurst, 500, 1000, endpointRate, endpointBurst,
+                overflowRate, overflowBurst, maxKeys, 60_000);
+        return rateLimiter;
+    }
+
+    @Test
+    void acceptsBurstThenReturnsRetryWait() {
+        RateLimiter limiter = limiter(5, 10, 200, 400, 100);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire(ENDPOINT, "user:1", false));
+        }
+        long wait = limiter.tryAcquire(ENDPOINT, "user:1", false);
+        assertTrue(wait > 0 && wait <= TimeUnit.MILLISECONDS.toNanos(200), "espera inesperada: " + wait);
+        // Otro usuario tiene su propia cubeta
+        assertEquals(0, limiter.tryAcquire(ENDPOINT, "user:2", false));
+    }
+
+    @Test
+    void internalCallersUseTheirOwnHigherLimit() {
+        RateLimiter limiter = limiter(5, 10, 200, 1, 100);
+
+        for (int i = 0; i < 500; i++) {
+            assertEquals(0, limiter.tryAcquire("POST /api/v1/notifications", "addr:10.0.0.5", true));
+        }
+        // Las llamadas internas no consumen la cubeta global del endpoint
+        assertEquals(0, limiter.tryAcquire("POST /api/v1/notifications", "user:1", false));
+    }
+
+    @Test
+    void endpointRejectionRefundsUserToken() throws InterruptedException {
+        // Usuario: 2 tokens que tardan 10 s en recuperarse; endpoint: 1 token cada 50 ms
+        RateLimiter limiter = limiter(0.1, 2, 20, 1, 100);
+
+        assertEquals(0, limiter.tryAcquire(ENDPOINT, "user:1", false));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(ENDPOINT, "user:1", false) > 0);
+        }
+        Thread.sleep(100);
+        // El segundo token del usuario sigue disponible porque los rechazos del endpoint no lo gastaron
+        assertEquals(0, limiter.tryAcquire(ENDPOINT, "user:1", false));
+        Thread.sleep(100);
+        assertTrue(limiter.tryAcquire(ENDPOINT, "user:1", false) > TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void concurrentCallersNeverExceedBurst() throws InterruptedException {
+        RateLimiter limiter = limiter(0.001, 100, 100_000, 100_000, 100);
+        int threads = 8;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 50; i++) {
+                    if (limiter.tryAcquire(ENDPOINT, "user:1", false) == 0) accepted.incrementAndGet();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+
+        assertEquals(100, accepted.get());
+    }
+
+    @Test
+    void newKeysShareOverflowBucketWithItsOwnLimit() {
+        RateLimiter limiter = limiter(10, 1, 200, 400, 1, 5, 2);
+
+        assertEquals(0, limiter.tryAcquire(ENDPOINT, "user:1", false));
+        assertEquals(0, limiter.tryAcquire(ENDPOINT, "user:2", false));
+        // Máximo de claves alcanzado: los usuarios nuevos comparten la cubeta de desbordamiento del endpoint,
+        // con su propia ráfaga en lugar de la de un solo usuario
+        for (int user = 3; user <= 7; user++) {
+            assertEquals(0, limiter.tryAcquire(ENDPOINT, "user:" + user, false));
+        }
+        assertTrue(limiter.tryAcquire(ENDPOINT, "user:8", false) > 0);
+        // Los usuarios con cubeta propia no se ven afectados
+        assertTrue(limiter.tryAcquire(ENDPOINT, "user:1", false) > 0);
+        assertEquals(0, limiter.tryAcquire("GET /api/v1/notifications", "user:1", false));
+    }
+
+    @Test
+    void newKeysShareOverflowBucketUntilIdleBucketsAreSwept() throws InterruptedException {
+        RateLimiter limiter = limiter(10, 1, 200, 400, 10, 1, 2);
+
+        assertEquals(0, limiter.tryAcquire(ENDPOINT, "user:1", false));
+        assertEquals(0, limiter.tryAcquire(ENDPOINT, "user:2", false));
+        assertEquals(0, limiter.tryAcquire(ENDPOINT, "user:3", false));
+        assertTrue(limiter.tryAcquire(ENDPOINT, "user:4", false) > 0);
+        assertTrue(limiter.size() <= 4);
+
+        Thread.sleep(150);
+        limiter.sweepIdle();
+        assertEquals(0, limiter.size());
+        assertEquals(0, limiter.tryAcquire(ENDPOINT, "user:4", false));
+    }
+}
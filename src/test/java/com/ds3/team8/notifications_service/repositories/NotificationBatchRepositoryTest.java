@@ -0,0 +1,89 @@
+package com.ds3.team8.notifications_service.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationBatchRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private NotificationBatchRepository batchRepository;
+
+    // Valores enlazados en cada sentencia: "índice=valor"
+    private final List<List<String>> boundRows = new ArrayList<>();
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private int[][] results;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        batchRepository = new NotificationBatchRepository(jdbcTemplate);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Collection<Long> customerIds = invocation.getArgument(1);
+                    ParameterizedPreparedStatementSetter<Long> setter = invocation.getArgument(3);
+                    batchSizes.add(invocation.getArgument(2));
+                    for (Long customerId : customerIds) {
+                        List<String> row = new ArrayList<>();
+                        setter.setValues(recordingStatement(row), customerId);
+                        boundRows.add(row);
+                    }
+                    return results;
+                });
+    }
+
+    @Test
+    void insertsAllCustomersInOneBatchAndBindsNullOrder() {
+        results = new int[][] { { 1, 1, 1 } };
+
+        int created = batchRepository.insertForCustomers(List.of(1L, 2L, 3L), null, null, "ORDER_PAID", "42");
+
+        assertEquals(3, created);
+        assertEquals(List.of(3), batchSizes);
+        assertEquals(3, boundRows.size());
+        List<String> first = boundRows.get(0);
+        assertTrue(first.contains("1=1"), first.toString());
+        assertTrue(first.contains("2=null:" + Types.BIGINT), first.toString());
+        assertTrue(first.contains("3=null"), first.toString());
+        assertTrue(first.contains("4=ORDER_PAID"), first.toString());
+        assertTrue(first.contains("5=42"), first.toString());
+    }
+
+    @Test
+    void rowsNotInsertedAreNotCounted() {
+        results = new int[][] { { 1, 0 }, { 1, 1 } };
+
+        int created = batchRepository.insertForCustomers(List.of(1L, 2L, 3L, 4L), 10L, "Hola", null, null);
+
+        assertEquals(3, created);
+        assertTrue(boundRows.get(0).contains("2=10"), boundRows.get(0).toString());
+    }
+
+    private static PreparedStatement recordingStatement(List<String> row) throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        doAnswer(invocation -> row.add(invocation.getArgument(0) + "=" + invocation.getArgument(1)))
+                .when(statement).setLong(anyInt(), anyLong());
+        doAnswer(invocation -> row.add(invocation.getArgument(0) + "=null:" + invocation.getArgument(1)))
+                .when(statement).setNull(anyInt(), anyInt());
+        doAnswer(invocation -> row.add(invocation.getArgument(0) + "=" + invocation.getArgument(1)))
+                .when(statement).setString(anyInt(), any());
+        return statement;
+    }
+}
@@ -0,0 +1,207 @@
+package com.ds3.team8.notifications_service.services;
+
+import com.ds3.team8.notifications_service.client.UserClient;
+import com.ds3.team8.notifications_service.client.dtos.UserResponse;
+import com.ds3.team8.notifications_service.dtos.BroadcastRequest;
+import com.ds3.team8.notifications_service.dtos.BroadcastResponse;
+import com.ds3.team8.notifications_service.dtos.enums.BroadcastStatus;
+import com.ds3.team8.notifications_service.exceptions.NotFoundException;
+import com.ds3.team8.notifications_service.exceptions.ServiceUnavailableException;
+import com.ds3.team8.notifications_service.repositories.NotificationBatchRepository;
+import com.ds3.team8.notifications_service.templates.NotificationContentValidator;
+
+import feign.FeignException;
+import feign.Request;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BroadcastServiceImplTest {
+
+    private NotificationBatchRepository batchRepository;
+    private UserClient userClient;
+    private BroadcastServiceImpl broadcastService;
+
+    // Bloques insertados, en orden
+    private final List<List<Long>> insertedChunks = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        batchRepository = mock(NotificationBatchRepository.class);
+        userClient = mock(UserClient.class);
+        when(batchRepository.insertForCustomers(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            List<Long> customerIds = invocation.getArgument(0);
+            insertedChunks.add(new ArrayList<>(customerIds));
+            return customerIds.size();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (broadcastService != null) broadcastService.shutdown();
+    }
+
+    private BroadcastServiceImpl service(boolean validateRecipients, int chunkSize, int maxTrackedJobs) {
+        broadcastService = new BroadcastServiceImpl(batchRepository, mock(NotificationContentValidator.class), userClient,
+                mock(PlatformTransactionManager.class), chunkSize, 1000, validateRecipients, 4, maxTrackedJobs);
+        return broadcastService;
+    }
+
+    @Test
+    void validatesOnWorkerThreadsWithCallerHeadersAndInsertsInChunks() throws InterruptedException {
+        Set<String> headers = ConcurrentHashMap.newKeySet();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(userClient.getUserById(anyLong(), any(), any())).thenAnswer(invocation -> {
+            headers.add(invocation.getArgument(1) + "/" + invocation.getArgument(2));
+            threads.add(Thread.currentThread().getName());
+            return new UserResponse();
+        });
+        BroadcastServiceImpl service = service(true, 2, 100);
+
+        BroadcastResponse started = service.start(request(1L, 2L, 3L, 2L, 4L, 5L), "7", "ADMIN");
+        BroadcastResponse finished = awaitFinished(service, started.getJobId());
+
+        assertEquals(BroadcastStatus.COMPLETED, finished.getStatus());
+        assertEquals(5, finished.getTotalRecipients());
+        assertEquals(5, finished.getCreatedNotifications());
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L)), insertedChunks);
+        // Sin petición HTTP en el hilo del envío, las cabeceras llegan porque se pasan explícitamente
+        assertEquals(Set.of("7/ADMIN"), headers);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("broadcast-validator-")), "hilos: " + threads);
+    }
+
+    @Test
+    void onlyNotFoundRecipientsAreRejected() throws InterruptedException {
+        when(userClient.getUserById(anyLong(), any(), any())).thenAnswer(invocation -> {
+            if (invocation.<Long>getArgument(0) == 2L) throw new FeignException.NotFound("no existe", feignRequest(), null, null);
+            return new UserResponse();
+        });
+        BroadcastServiceImpl service = service(true, 10, 100);
+
+        BroadcastResponse finished = awaitFinished(service, service.start(request(1L, 2L, 3L), "7", "ADMIN").getJobId());
+
+        assertEquals(BroadcastStatus.COMPLETED, finished.getStatus());
+        assertEquals(2, finished.getCreatedNotifications());
+        assertEquals(1, finished.getRejectedRecipients());
+        assertEquals(List.of(List.of(1L, 3L)), insertedChunks);
+    }
+
+    @Test
+    void userServiceErrorFailsTheJob() throws InterruptedException {
+        when(userClient.getUserById(anyLong(), any(), any())).thenAnswer(invocation -> {
+            if (invocation.<Long>getArgument(0) == 2L) throw new FeignException.InternalServerError("error", feignRequest(), null, null);
+            return new UserResponse();
+        });
+        BroadcastServiceImpl service = service(true, 10, 100);
+
+        BroadcastResponse finished = awaitFinished(service, service.start(request(1L, 2L, 3L), "7", "ADMIN").getJobId());
+
+        assertEquals(BroadcastStatus.FAILED, finished.getStatus());
+        assertEquals(0, finished.getRejectedRecipients());
+        assertTrue(insertedChunks.isEmpty());
+    }
+
+    @Test
+    void rejectsWhenOneJobIsRunningAndAnotherIsQueued() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockInserts(running, release);
+        BroadcastServiceImpl service = service(false, 10, 100);
+
+        String first = service.start(request(1L), null, "ADMIN").getJobId();
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        String queued = service.start(request(2L), null, "ADMIN").getJobId();
+        assertEquals(BroadcastStatus.PENDING, service.getStatus(queued).getStatus());
+
+        assertThrows(ServiceUnavailableException.class, () -> service.start(request(3L), null, "ADMIN"));
+
+        release.countDown();
+        assertEquals(BroadcastStatus.COMPLETED, awaitFinished(service, first).getStatus());
+        assertEquals(BroadcastStatus.COMPLETED, awaitFinished(service, queued).getStatus());
+    }
+
+    @Test
+    void refusesNewJobsWhenTrackedJobsAreUnfinished() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockInserts(running, release);
+        BroadcastServiceImpl service = service(false, 10, 1);
+
+        String first = service.start(request(1L), null, "ADMIN").getJobId();
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ServiceUnavailableException.class, () -> service.start(request(2L), null, "ADMIN"));
+
+        release.countDown();
+        awaitFinished(service, first);
+    }
+
+    @Test
+    void evictsOldestFinishedJobWhenTrackingIsFull() throws InterruptedException {
+        BroadcastServiceImpl service = service(false, 10, 2);
+
+        String first = service.start(request(1L), null, "ADMIN").getJobId();
+        awaitFinished(service, first);
+        String second = service.start(request(2L), null, "ADMIN").getJobId();
+        awaitFinished(service, second);
+        String third = service.start(request(3L), null, "ADMIN").getJobId();
+
+        assertThrows(NotFoundException.class, () -> service.getStatus(first));
+        assertEquals(second, service.getStatus(second).getJobId());
+        assertEquals(third, service.getStatus(third).getJobId());
+    }
+
+    private void blockInserts(CountDownLatch running, CountDownLatch release) {
+        doAnswer(invocation -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.<List<Long>>getArgument(0).size();
+        }).when(batchRepository).insertForCustomers(any(), any(), any(), any(), any());
+    }
+
+    private static BroadcastRequest request(Long... customerIds) {
+        BroadcastRequest request = new BroadcastRequest();
+        request.setMessage("Rebajas de temporada");
+        request.setCustomerIds(List.of(customerIds));
+        return request;
+    }
+
+    private static Request feignRequest() {
+        return Request.create(Request.HttpMethod.GET, "/api/v1/users/2", Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+
+    private static BroadcastResponse awaitFinished(BroadcastServiceImpl service, String jobId) throws InterruptedException {
+        waitUntil(() -> service.getStatus(jobId).getFinishedAt() != null);
+        return service.getStatus(jobId);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) throw new AssertionError("condición no alcanzada a tiempo");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ds3.team8.notifications_service.services;
+
+import com.ds3.team8.notifications_service.dtos.CacheStatisticsResponse;
+import com.ds3.team8.notifications_service.entities.Notification;
+import com.ds3.team8.notifications_service.repositories.INotificationRepository;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Usa H2 en lugar de PostgreSQL; la configuración de la caché es la de application.properties y application.conf
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+// Sin transacción de prueba: cada findById abre su propia sesión y solo puede resolverse desde la caché de segundo nivel
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheStatisticsServiceImplTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheStatisticsServiceImplTest.class);
+
+    private static final int READS = 200;
+
+    // Configuración propia para no cargar los clientes Feign de la aplicación
+    @Configuration
+    @EntityScan(basePackageClasses = Notification.class)
+    @EnableJpaRepositories(basePackageClasses = INotificationRepository.class)
+    @Import(CacheStatisticsServiceImpl.class)
+    static class CacheTestConfiguration {
+    }
+
+    @Autowired
+    private INotificationRepository notificationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheStatisticsServiceImpl cacheStatisticsService;
+
+    private SessionFactoryImplementor sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        entityManagerFactory.getCache().evictAll();
+        sessionFactory.getStatistics().clear();
+    }
+
+    @Test
+    void notificationsRegionUsesApplicationConf() {
+        CacheManager cacheManager = ((JCacheRegionFactory) sessionFactory.getCache().getRegionFactory()).getCacheManager();
+        Cache<Object, Object> cache = cacheManager.getCache("notifications");
+
+        assertNotNull(cache);
+        @SuppressWarnings("unchecked")
+        CaffeineConfiguration<Object, Object> configuration = cache.getConfiguration(CaffeineConfiguration.class);
+        assertEquals(OptionalLong.of(10_000), configuration.getMaximumSize());
+    }
+
+    @Test
+    void repeatedFindByIdHitsTheNotificationsRegion() {
+        Long id = notificationRepository.save(new Notification(1L, 10L, "Tu pedido fue enviado")).getId();
+        entityManagerFactory.getCache().evictAll();
+        sessionFactory.getStatistics().clear();
+
+        // Lecturas sin caché: se descarta la entrada antes de cada consulta
+        long start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            entityManagerFactory.getCache().evict(Notification.class, id);
+            assertTrue(notificationRepository.findById(id).isPresent());
+        }
+        long missNanos = (System.nanoTime() - start) / READS;
+
+        // Lecturas con caché: la última consulta anterior ya dejó la entrada en memoria
+        start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            assertTrue(notificationRepository.findById(id).isPresent());
+        }
+        long hitNanos = (System.nanoTime() - start) / READS;
+
+        CacheStatisticsResponse response = cacheStatisticsService.getNotificationCacheStatistics();
+        assertEquals("notifications", response.getRegion());
+        assertEquals(READS, response.getMissCount());
+        assertEquals(READS, response.getHitCount());
+        assertEquals(0.5, response.getHitRatio(), 0.0001);
+
+        logger.info("Caché notifications: tasa de aciertos {}, findById sin caché {} µs, con caché {} µs",
+                response.getHitRatio(), missNanos / 1_000, hitNanos / 1_000);
+    }
+}
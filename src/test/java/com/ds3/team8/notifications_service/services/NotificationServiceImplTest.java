@@ -0,0 +1,117 @@
+package com.ds3.team8.notifications_service.services;
+
+import com.ds3.team8.notifications_service.dtos.NotificationBatchResponse;
+import com.ds3.team8.notifications_service.dtos.NotificationResponse;
+import com.ds3.team8.notifications_service.entities.Notification;
+import com.ds3.team8.notifications_service.exceptions.BadRequestException;
+import com.ds3.team8.notifications_service.mappers.NotificationMapper;
+import com.ds3.team8.notifications_service.repositories.INotificationRepository;
+import com.ds3.team8.notifications_service.templates.NotificationTemplateProperties;
+import com.ds3.team8.notifications_service.templates.NotificationTemplateRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationServiceImplTest {
+
+    private static final int BATCH_MAX_IDS = 5;
+
+    private INotificationRepository notificationRepository;
+    private NotificationServiceImpl notificationService;
+
+    // IDs recibidos por cada llamada a findAllById
+    private final List<List<Long>> queriedIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(INotificationRepository.class);
+        NotificationMapper notificationMapper = new NotificationMapper(new NotificationTemplateRegistry(new NotificationTemplateProperties()));
+        notificationService = new NotificationServiceImpl(notificationRepository, notificationMapper, null, null, null, null, null, true, BATCH_MAX_IDS);
+
+        // La base de datos devuelve las filas existentes (1, 2, 3 y 5) en orden descendente de ID
+        when(notificationRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Long> requested = new ArrayList<>();
+            ids.forEach(requested::add);
+            queriedIds.add(requested);
+            return requested.stream()
+                    .filter(id -> id != 4L && id <= 5L)
+                    .sorted((a, b) -> Long.compare(b, a))
+                    .map(NotificationServiceImplTest::notification)
+                    .toList();
+        });
+    }
+
+    @Test
+    void keepsRequestOrder() {
+        NotificationBatchResponse response = notificationService.findAllByIds(List.of(2L, 5L, 1L, 3L));
+
+        assertEquals(List.of(2L, 5L, 1L, 3L), ids(response));
+        assertEquals("Notificación 5", response.getNotifications().get(1).getMessage());
+        assertEquals(List.of(), response.getMissingIds());
+    }
+
+    @Test
+    void removesDuplicatesAndNullsBeforeASingleQuery() {
+        NotificationBatchResponse response = notificationService.findAllByIds(Arrays.asList(3L, 1L, 3L, null, 1L));
+
+        assertEquals(List.of(List.of(3L, 1L)), queriedIds);
+        assertEquals(List.of(3L, 1L), ids(response));
+    }
+
+    @Test
+    void reportsMissingIdsInRequestOrder() {
+        NotificationBatchResponse response = notificationService.findAllByIds(List.of(9L, 2L, 4L, 1L));
+
+        assertEquals(List.of(2L, 1L), ids(response));
+        assertEquals(List.of(9L, 4L), response.getMissingIds());
+    }
+
+    @Test
+    void rejectsMoreThanMaxIds() {
+        List<Long> ids = LongStream.rangeClosed(1, BATCH_MAX_IDS + 1).boxed().toList();
+
+        assertThrows(BadRequestException.class, () -> notificationService.findAllByIds(ids));
+        verify(notificationRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void countsMaxIdsAfterRemovingDuplicates() {
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, BATCH_MAX_IDS).boxed().toList());
+        ids.addAll(ids);
+
+        NotificationBatchResponse response = notificationService.findAllByIds(ids);
+
+        assertEquals(List.of(1L, 2L, 3L, 5L), ids(response));
+        assertEquals(List.of(4L), response.getMissingIds());
+    }
+
+    @Test
+    void rejectsRequestWithoutIds() {
+        assertThrows(BadRequestException.class, () -> notificationService.findAllByIds(Arrays.asList(null, null)));
+        verify(notificationRepository, never()).findAllById(any());
+    }
+
+    private static List<Long> ids(NotificationBatchResponse response) {
+        return response.getNotifications().stream().map(NotificationResponse::getId).toList();
+    }
+
+    private static Notification notification(Long id) {
+        Notification notification = new Notification(100L, null, "Notificación " + id);
+        notification.setId(id);
+        return notification;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ds3.team8.notifications_service.templates;
+
+import com.ds3.team8.notifications_service.exceptions.BadRequestException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NotificationContentValidatorTest {
+
+    private NotificationContentValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        NotificationTemplateProperties properties = new NotificationTemplateProperties();
+        properties.setTemplates(Map.of("TWO_PARAMS", "{0} - {1}"));
+        validator = new NotificationContentValidator(new NotificationTemplateRegistry(properties));
+    }
+
+    @Test
+    void acceptsFreeTextMessage() {
+        assertDoesNotThrow(() -> validator.validate("Hola", null, null));
+    }
+
+    @Test
+    void acceptsTemplateWithEnoughParams() {
+        assertDoesNotThrow(() -> validator.validate(null, "TWO_PARAMS", List.of("a", "b")));
+    }
+
+    @Test
+    void rejectsMissingContent() {
+        assertThrows(BadRequestException.class, () -> validator.validate(" ", null, null));
+    }
+
+    @Test
+    void rejectsMessageAndTemplateTogether() {
+        assertThrows(BadRequestException.class, () -> validator.validate("Hola", "TWO_PARAMS", List.of("a", "b")));
+    }
+
+    @Test
+    void rejectsUnknownTemplate() {
+        assertThrows(BadRequestException.class, () -> validator.validate(null, "UNKNOWN", List.of()));
+    }
+
+    @Test
+    void rejectsTooFewParams() {
+        assertThrows(BadRequestException.class, () -> validator.validate(null, "TWO_PARAMS", List.of("a")));
+        assertThrows(BadRequestException.class, () -> validator.validate(null, "TWO_PARAMS", null));
+    }
+
+    @Test
+    void rejectsParamWithSeparator() {
+        assertThrows(BadRequestException.class,
+                () -> validator.validate(null, "TWO_PARAMS", List.of("a" + NotificationTemplateRegistry.PARAM_SEPARATOR + "b", "c")));
+    }
+
+    @Test
+    void rejectsParamsLongerThanColumn() {
+        String longParam = "x".repeat(NotificationTemplateRegistry.MAX_ENCODED_PARAMS_LENGTH);
+        assertThrows(BadRequestException.class, () -> validator.validate(null, "TWO_PARAMS", List.of(longParam, "b")));
+    }
+}
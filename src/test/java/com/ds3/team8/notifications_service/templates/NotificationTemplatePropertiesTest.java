@@ -0,0 +1,36 @@
+package com.ds3.team8.notifications_service.templates;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationTemplatePropertiesTest {
+
+    @Test
+    void bindsOnlyTemplateProperties() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("notifications.templates.ORDER_PAID", "Tu pedido #{0} ha sido pagado")
+                .withProperty("notifications.templates.ORDER_CANCELED", "Tu pedido #{0} ha sido cancelado")
+                .withProperty("notifications.rate-limit.user.burst", "10")
+                .withProperty("notifications.read.empty-as-not-found", "false");
+
+        NotificationTemplateProperties properties = new NotificationTemplateProperties(environment);
+
+        assertEquals(Map.of(
+                "ORDER_PAID", "Tu pedido #{0} ha sido pagado",
+                "ORDER_CANCELED", "Tu pedido #{0} ha sido cancelado"
+        ), properties.getTemplates());
+    }
+
+    @Test
+    void noTemplatesGivesEmptyMap() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("notifications.batch.max-ids", "100");
+
+        assertTrue(new NotificationTemplateProperties(environment).getTemplates().isEmpty());
+    }
+}
@@ -0,0 +1,61 @@
+package com.ds3.team8.notifications_service.templates;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationTemplateRegistryTest {
+
+    private NotificationTemplateRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        NotificationTemplateProperties properties = new NotificationTemplateProperties();
+        properties.setTemplates(Map.of(
+                "ORDER_PAID", "Tu pedido #{0} ha sido pagado",
+                "TWO_PARAMS", "{1} y {0}",
+                "STATIC", "Sin parámetros {texto}"
+        ));
+        registry = new NotificationTemplateRegistry(properties);
+    }
+
+    @Test
+    void rendersPlaceholdersInOrder() {
+        assertEquals("Tu pedido #42 ha sido pagado", registry.render("ORDER_PAID", NotificationTemplateRegistry.encodeParams(List.of("42"))));
+        assertEquals("b y a", registry.render("TWO_PARAMS", NotificationTemplateRegistry.encodeParams(List.of("a", "b"))));
+    }
+
+    @Test
+    void keepsNonNumericBracesAsLiterals() {
+        assertEquals("Sin parámetros {texto}", registry.render("STATIC", null));
+    }
+
+    @Test
+    void requiredParamsIsHighestPlaceholderIndexPlusOne() {
+        assertEquals(1, registry.requiredParams("ORDER_PAID"));
+        assertEquals(2, registry.requiredParams("TWO_PARAMS"));
+        assertEquals(0, registry.requiredParams("STATIC"));
+    }
+
+    @Test
+    void unknownTemplateRendersNull() {
+        assertFalse(registry.exists("UNKNOWN"));
+        assertTrue(registry.exists("ORDER_PAID"));
+        assertNull(registry.render("UNKNOWN", null));
+    }
+
+    @Test
+    void encodeAndDecodeParamsRoundTrip() {
+        List<String> params = List.of("a", "", "c");
+        assertEquals(params, NotificationTemplateRegistry.decodeParams(NotificationTemplateRegistry.encodeParams(params)));
+        assertNull(NotificationTemplateRegistry.encodeParams(List.of()));
+        assertEquals(List.of(), NotificationTemplateRegistry.decodeParams(null));
+    }
+}